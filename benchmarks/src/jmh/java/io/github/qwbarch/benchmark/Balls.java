@@ -0,0 +1,91 @@
+package io.github.qwbarch.benchmark;
+
+import com.artemis.Aspect;
+import com.artemis.World;
+import com.badlogic.gdx.math.MathUtils;
+import io.github.qwbarch.entity.EntitySpawner;
+import io.github.qwbarch.entity.component.Collidable;
+import io.github.qwbarch.entity.component.Collider;
+import io.github.qwbarch.entity.component.LinearVelocity;
+import io.github.qwbarch.entity.component.Position;
+import io.github.qwbarch.entity.component.Size;
+
+import java.util.Random;
+
+import static io.github.qwbarch.Main.*;
+
+/**
+ * Fills a level with bouncing balls, the same kind the player ends up with after catching dropping balls.
+ */
+public final class Balls {
+    /**
+     * The number of random positions tried before a ball is placed regardless of what it overlaps.
+     */
+    private static final int MAX_PLACEMENT_ATTEMPTS = 100;
+
+    private Balls() {}
+
+    /**
+     * Spawn the balls at random positions above the paddle, launched in random upward directions.
+     * Balls aren't placed inside bricks or borders, since a ball that starts out stuck in a brick
+     * hits the per-tick contact limit every tick, which isn't a case worth measuring.
+     * <p/>
+     * The level must have been processed at least once, so its bricks are already in the world.
+     * One more tick is processed afterwards, which adds the balls to the world.
+     * @param seed Seed for the placement and launch angles. Together with the seed the component was created with,
+     *             every run simulates the same thing.
+     */
+    public static void spawn(World world, EntitySpawner spawner, int count, long seed) {
+        var random = new Random(seed);
+
+        var positions = world.getMapper(Position.class);
+        var sizes = world.getMapper(Size.class);
+        var collidables = world.getAspectSubscriptionManager()
+            .get(Aspect.all(Collidable.class, Position.class, Size.class))
+            .getEntities();
+
+        var minY = PADDLE_SPAWN_Y + PADDLE_HEIGHT + BALL_SIZE;
+        for (var i = 0; i < count; i++) {
+            var x = 0f;
+            var y = 0f;
+            for (var attempt = 0; attempt < MAX_PLACEMENT_ATTEMPTS; attempt++) {
+                x = random.nextFloat() * (WORLD_WIDTH - BALL_SIZE);
+                y = minY + random.nextFloat() * (WORLD_HEIGHT - BALL_SIZE - minY);
+
+                var overlaps = false;
+                for (var j = 0; j < collidables.size() && !overlaps; j++) {
+                    var collidableId = collidables.get(j);
+                    var position = positions.get(collidableId).current;
+                    var size = sizes.get(collidableId);
+                    overlaps = x < position.x + size.width
+                        && x + BALL_SIZE > position.x
+                        && y < position.y + size.height
+                        && y + BALL_SIZE > position.y;
+                }
+                if (!overlaps) break;
+            }
+            spawner.spawnDroppingBall(x, y);
+        }
+        world.process();
+
+        // Launch every dropping ball as if it was caught by the paddle.
+        var colliders = world.getMapper(Collider.class);
+        var velocities = world.getMapper(LinearVelocity.class);
+        var balls = world.getAspectSubscriptionManager()
+            .get(Aspect.all(Collider.class, LinearVelocity.class))
+            .getEntities();
+        for (var i = 0; i < balls.size(); i++) {
+            var ballId = balls.get(i);
+            var collider = colliders.get(ballId);
+            if (collider.ghosted) {
+                collider.ghosted = false;
+                collider.bounce = true;
+                // Sounds aren't loaded when running headless anyway.
+                collider.playImpactSound = false;
+
+                var angle = (float) Math.toRadians(10 + random.nextFloat() * 160);
+                velocities.get(ballId).set(BALL_VELOCITY * MathUtils.cos(angle), BALL_VELOCITY * MathUtils.sin(angle));
+            }
+        }
+    }
+}
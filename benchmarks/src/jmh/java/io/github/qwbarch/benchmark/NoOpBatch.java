@@ -0,0 +1,250 @@
+package io.github.qwbarch.benchmark;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Affine2;
+import com.badlogic.gdx.math.Matrix4;
+
+/**
+ * A batch that throws away everything drawn to it, so rendering code can be measured without a GL context.
+ * Draw calls are still counted, since a benchmark needs something to hand to the blackhole
+ * (otherwise the JIT is free to skip the work entirely).
+ */
+public final class NoOpBatch implements Batch {
+    private final Color color = new Color(1f, 1f, 1f, 1f);
+    private final Matrix4 projectionMatrix = new Matrix4();
+    private final Matrix4 transformMatrix = new Matrix4();
+    private boolean drawing = false;
+
+    /**
+     * The number of draw calls since the batch was last started.
+     */
+    public int drawCalls = 0;
+
+    @Override
+    public void begin() {
+        drawing = true;
+        drawCalls = 0;
+    }
+
+    @Override
+    public void end() {
+        drawing = false;
+    }
+
+    @Override
+    public void setColor(Color tint) {
+        color.set(tint);
+    }
+
+    @Override
+    public void setColor(float r, float g, float b, float a) {
+        color.set(r, g, b, a);
+    }
+
+    @Override
+    public Color getColor() {
+        return color;
+    }
+
+    @Override
+    public void setPackedColor(float packedColor) {
+        Color.abgr8888ToColor(color, packedColor);
+    }
+
+    @Override
+    public float getPackedColor() {
+        return color.toFloatBits();
+    }
+
+    @Override
+    public void draw(
+        Texture texture,
+        float x,
+        float y,
+        float originX,
+        float originY,
+        float width,
+        float height,
+        float scaleX,
+        float scaleY,
+        float rotation,
+        int srcX,
+        int srcY,
+        int srcWidth,
+        int srcHeight,
+        boolean flipX,
+        boolean flipY
+    ) {
+        drawCalls++;
+    }
+
+    @Override
+    public void draw(
+        Texture texture,
+        float x,
+        float y,
+        float width,
+        float height,
+        int srcX,
+        int srcY,
+        int srcWidth,
+        int srcHeight,
+        boolean flipX,
+        boolean flipY
+    ) {
+        drawCalls++;
+    }
+
+    @Override
+    public void draw(Texture texture, float x, float y, int srcX, int srcY, int srcWidth, int srcHeight) {
+        drawCalls++;
+    }
+
+    @Override
+    public void draw(Texture texture, float x, float y, float width, float height, float u, float v, float u2, float v2) {
+        drawCalls++;
+    }
+
+    @Override
+    public void draw(Texture texture, float x, float y) {
+        drawCalls++;
+    }
+
+    @Override
+    public void draw(Texture texture, float x, float y, float width, float height) {
+        drawCalls++;
+    }
+
+    @Override
+    public void draw(Texture texture, float[] spriteVertices, int offset, int count) {
+        drawCalls++;
+    }
+
+    @Override
+    public void draw(TextureRegion region, float x, float y) {
+        drawCalls++;
+    }
+
+    @Override
+    public void draw(TextureRegion region, float x, float y, float width, float height) {
+        drawCalls++;
+    }
+
+    @Override
+    public void draw(
+        TextureRegion region,
+        float x,
+        float y,
+        float originX,
+        float originY,
+        float width,
+        float height,
+        float scaleX,
+        float scaleY,
+        float rotation
+    ) {
+        drawCalls++;
+    }
+
+    @Override
+    public void draw(
+        TextureRegion region,
+        float x,
+        float y,
+        float originX,
+        float originY,
+        float width,
+        float height,
+        float scaleX,
+        float scaleY,
+        float rotation,
+        boolean clockwise
+    ) {
+        drawCalls++;
+    }
+
+    @Override
+    public void draw(TextureRegion region, float width, float height, Affine2 transform) {
+        drawCalls++;
+    }
+
+    @Override
+    public void flush() {}
+
+    @Override
+    public void disableBlending() {}
+
+    @Override
+    public void enableBlending() {}
+
+    @Override
+    public void setBlendFunction(int srcFunc, int dstFunc) {}
+
+    @Override
+    public void setBlendFunctionSeparate(int srcFuncColor, int dstFuncColor, int srcFuncAlpha, int dstFuncAlpha) {}
+
+    @Override
+    public int getBlendSrcFunc() {
+        return 0;
+    }
+
+    @Override
+    public int getBlendDstFunc() {
+        return 0;
+    }
+
+    @Override
+    public int getBlendSrcFuncAlpha() {
+        return 0;
+    }
+
+    @Override
+    public int getBlendDstFuncAlpha() {
+        return 0;
+    }
+
+    @Override
+    public Matrix4 getProjectionMatrix() {
+        return projectionMatrix;
+    }
+
+    @Override
+    public Matrix4 getTransformMatrix() {
+        return transformMatrix;
+    }
+
+    @Override
+    public void setProjectionMatrix(Matrix4 projection) {
+        projectionMatrix.set(projection);
+    }
+
+    @Override
+    public void setTransformMatrix(Matrix4 transform) {
+        transformMatrix.set(transform);
+    }
+
+    @Override
+    public void setShader(ShaderProgram shader) {}
+
+    @Override
+    public ShaderProgram getShader() {
+        return null;
+    }
+
+    @Override
+    public boolean isBlendingEnabled() {
+        return true;
+    }
+
+    @Override
+    public boolean isDrawing() {
+        return drawing;
+    }
+
+    @Override
+    public void dispose() {}
+}
@@ -0,0 +1,55 @@
+package io.github.qwbarch.benchmark;
+
+import com.artemis.World;
+import io.github.qwbarch.LevelResolver;
+import io.github.qwbarch.headless.HeadlessRunner;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures game ticks per second of the headless simulation, for every level at different ball counts.
+ * <p/>
+ * The headless world runs the input, movement/collision and despawn systems, so this is dominated
+ * by MovementCollisionSystem. Balls eventually fall out of the world, so every invocation starts from a
+ * freshly spawned level and only runs a second's worth of game ticks, which keeps the ball count
+ * close to what the parameter says.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PhysicsTickBenchmark {
+    /**
+     * One second of game time.
+     */
+    private static final int TICKS_PER_INVOCATION = 60;
+
+    private static final long SEED = 42L;
+
+    @Param({"LEVEL_1", "LEVEL_2", "BONUS_LEVEL"})
+    public LevelResolver.Level level;
+
+    @Param({"1", "100", "10000"})
+    public int balls;
+
+    private World world;
+
+    @Setup(Level.Invocation)
+    public void setup() {
+        var component = HeadlessRunner.createComponent(SEED);
+        HeadlessRunner.startLevel(component, level);
+
+        // The level already comes with the starting ball.
+        world = component.getWorld();
+        Balls.spawn(world, component.getEntitySpawner(), balls - 1, SEED);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TICKS_PER_INVOCATION)
+    public World tick() {
+        for (var i = 0; i < TICKS_PER_INVOCATION; i++) {
+            world.process();
+        }
+        return world;
+    }
+}
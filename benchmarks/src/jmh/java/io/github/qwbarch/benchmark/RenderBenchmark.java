@@ -0,0 +1,90 @@
+package io.github.qwbarch.benchmark;
+
+import com.artemis.Aspect;
+import io.github.qwbarch.entity.component.Sprite;
+import io.github.qwbarch.entity.system.RenderSystem;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.github.qwbarch.Main.*;
+
+/**
+ * Measures the render system's interpolation loop against a batch that doesn't draw anything,
+ * so only the cost of walking the entities and interpolating their positions is left.
+ * The level is the bonus level (the one with the most bricks), with a varying number of balls on top.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RenderBenchmark {
+    private static final long SEED = 42L;
+
+    @Param({"1", "100", "10000"})
+    public int balls;
+
+    private RenderSystem renderSystem;
+    private NoOpBatch batch;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        var component = DaggerRenderBenchmarkComponent
+            .factory()
+            .create(
+                SECONDS_PER_TICK,
+                COLLISION_COOLDOWN_TICKS,
+                WORLD_WIDTH,
+                WORLD_HEIGHT,
+                BRICK_SIZE,
+                BALL_SIZE,
+                BALL_VELOCITY,
+                BALL_SPAWN_VELOCITY,
+                STARTING_BALL_SPAWN_X,
+                STARTING_BALL_SPAWN_Y,
+                PADDLE_WIDTH,
+                PADDLE_HEIGHT,
+                PADDLE_VELOCITY,
+                PADDLE_SPAWN_X,
+                PADDLE_SPAWN_Y,
+                SPAWN_BALL_CHANCE,
+                BALL_POOL_CAPACITY,
+                GRID_CELL_SIZE,
+                DENSE_SPATIAL_GRID,
+                WORLD_BORDER_SIZE,
+                PARALLEL_COLLISIONS,
+                PARALLEL_SYSTEMS,
+                CHECK_SYSTEM_ACCESS,
+                PROFILE_SYSTEMS,
+                SEED
+            );
+        component.getStrategy().setManualStepping(true);
+        component.getBonusLevelLayout().spawn();
+
+        var world = component.getWorld();
+        world.process();
+        Balls.spawn(world, component.getEntitySpawner(), balls - 1, SEED);
+
+        // Textures are never loaded when running headless, so every sprite gets a stub one.
+        var texture = StubTextures.create();
+        var sprites = world.getMapper(Sprite.class);
+        var entities = world.getAspectSubscriptionManager().get(Aspect.all(Sprite.class)).getEntities();
+        for (var i = 0; i < entities.size(); i++) {
+            sprites.get(entities.get(i)).texture = texture;
+        }
+
+        // Move everything once more, so there's something to interpolate between.
+        world.process();
+
+        renderSystem = component.getRenderSystem();
+        renderSystem.alpha = 0.5f;
+        batch = component.getBatch();
+    }
+
+    @Benchmark
+    public int render() {
+        batch.begin();
+        renderSystem.process();
+        batch.end();
+        return batch.drawCalls;
+    }
+}
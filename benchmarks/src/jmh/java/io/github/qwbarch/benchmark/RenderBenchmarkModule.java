@@ -0,0 +1,57 @@
+package io.github.qwbarch.benchmark;
+
+import com.artemis.World;
+import com.artemis.WorldConfigurationBuilder;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import dagger.Provides;
+import io.github.qwbarch.dagger.SimulationModule;
+import io.github.qwbarch.entity.strategy.FixedTimestepInvocationStrategy;
+import io.github.qwbarch.entity.system.BrickSystem;
+import io.github.qwbarch.entity.system.DespawnSystem;
+import io.github.qwbarch.entity.system.InputSystem;
+import io.github.qwbarch.entity.system.MovementCollisionSystem;
+import io.github.qwbarch.entity.system.RenderSystem;
+
+import javax.inject.Singleton;
+
+/**
+ * Provides the headless simulation, plus a render system that draws to a {@link NoOpBatch}.
+ */
+@dagger.Module(includes = SimulationModule.class)
+public final class RenderBenchmarkModule {
+    /**
+     * The same world as the headless one, with the render system added on top.
+     */
+    @Provides
+    @Singleton
+    public World provideWorld(
+        FixedTimestepInvocationStrategy strategy,
+        RenderSystem renderSystem,
+        MovementCollisionSystem movementCollisionSystem,
+        BrickSystem brickSystem,
+        InputSystem inputSystem,
+        DespawnSystem despawnSystem
+    ) {
+        return new World(
+            new WorldConfigurationBuilder()
+                .with(inputSystem)
+                .with(movementCollisionSystem)
+                .with(brickSystem)
+                .with(despawnSystem)
+                .with(renderSystem)
+                .register(strategy)
+                .build()
+        );
+    }
+
+    @Provides
+    @Singleton
+    public NoOpBatch provideNoOpBatch() {
+        return new NoOpBatch();
+    }
+
+    @Provides
+    public Batch provideBatch(NoOpBatch batch) {
+        return batch;
+    }
+}
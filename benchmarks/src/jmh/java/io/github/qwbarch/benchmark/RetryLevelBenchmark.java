@@ -0,0 +1,50 @@
+package io.github.qwbarch.benchmark;
+
+import com.artemis.Aspect;
+import com.artemis.World;
+import com.artemis.utils.IntBag;
+import io.github.qwbarch.LevelResolver;
+import io.github.qwbarch.headless.HeadlessRunner;
+import io.github.qwbarch.level.LevelLayout;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures retrying a level the same way the level screen does: every entity except the level's borders and bricks
+ * is deleted, the bricks are reset in place, and a new paddle and starting ball are spawned.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RetryLevelBenchmark {
+    @Param({"LEVEL_1", "BONUS_LEVEL"})
+    public LevelResolver.Level level;
+
+    private World world;
+    private LevelLayout layout;
+    private IntBag entities;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        var component = HeadlessRunner.createComponent();
+        component.getStrategy().setManualStepping(true);
+        world = component.getWorld();
+        layout = HeadlessRunner.getLayout(component, level);
+        entities = world.getAspectSubscriptionManager().get(Aspect.all()).getEntities();
+        layout.spawn();
+        world.process();
+    }
+
+    @Benchmark
+    public World retry() {
+        for (var i = 0; i < entities.size(); i++) {
+            var entityId = entities.get(i);
+            if (!layout.isKept(entityId)) world.delete(entityId);
+        }
+        world.process();
+        layout.respawn();
+        world.process();
+        return world;
+    }
+}
@@ -0,0 +1,129 @@
+package io.github.qwbarch.benchmark;
+
+import com.artemis.Aspect;
+import com.artemis.utils.IntBag;
+import com.badlogic.gdx.utils.IntSet;
+import io.github.qwbarch.entity.component.Collidable;
+import io.github.qwbarch.entity.component.LinearVelocity;
+import io.github.qwbarch.entity.component.Position;
+import io.github.qwbarch.entity.component.Size;
+import io.github.qwbarch.entity.spatial.DenseSpatialGrid;
+import io.github.qwbarch.entity.spatial.EntityStamp;
+import io.github.qwbarch.entity.spatial.HashSpatialGrid;
+import io.github.qwbarch.entity.spatial.SpatialGrid;
+import io.github.qwbarch.headless.HeadlessRunner;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static io.github.qwbarch.Main.*;
+
+/**
+ * Measures the broad phase of a single ball's sweep: querying the spatial grid for the bricks around it,
+ * using the bricks and borders of the bonus level.
+ * <p/>
+ * Queries de-duplicate their results by stamping every visited entity with the current epoch.
+ * Before that, the movement system cleared an IntSet before every sweep and added each candidate to it,
+ * skipping the ones already in there. The "intSet" variant does the same on top of a single query, for comparison.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SpatialGridBenchmark {
+    private static final int QUERIES_PER_INVOCATION = 1024;
+    private static final long SEED = 42L;
+
+    /**
+     * The distance a ball moves during a single game tick.
+     */
+    private static final float SWEEP_DISTANCE = BALL_VELOCITY * SECONDS_PER_TICK;
+
+    @Param({"dense", "hash"})
+    public String grid;
+
+    @Param({"stamp", "intSet"})
+    public String dedupe;
+
+    private SpatialGrid spatialGrid;
+    private final EntityStamp visited = new EntityStamp();
+    private final IntSet candidateSet = new IntSet();
+    private final IntBag candidates = new IntBag();
+    private final float[] queryX = new float[QUERIES_PER_INVOCATION];
+    private final float[] queryY = new float[QUERIES_PER_INVOCATION];
+
+    @Setup(Level.Trial)
+    public void setup() {
+        spatialGrid = grid.equals("dense")
+            ? new DenseSpatialGrid(
+                GRID_CELL_SIZE,
+                -WORLD_BORDER_SIZE,
+                -WORLD_BORDER_SIZE,
+                WORLD_WIDTH + WORLD_BORDER_SIZE,
+                WORLD_HEIGHT + WORLD_BORDER_SIZE
+            )
+            : new HashSpatialGrid(GRID_CELL_SIZE);
+
+        // Insert the bonus level's bricks and borders, the same as the movement system's static layer.
+        var component = HeadlessRunner.createComponent();
+        component.getStrategy().setManualStepping(true);
+        component.getBonusLevelLayout().spawn();
+        var world = component.getWorld();
+        world.process();
+        var positions = world.getMapper(Position.class);
+        var sizes = world.getMapper(Size.class);
+        var statics = world
+            .getAspectSubscriptionManager()
+            .get(Aspect.all(Position.class, Size.class, Collidable.class).exclude(LinearVelocity.class))
+            .getEntities();
+        for (var i = 0; i < statics.size(); i++) {
+            var entityId = statics.get(i);
+            var position = positions.get(entityId).current;
+            var size = sizes.get(entityId);
+            spatialGrid.insert(entityId, position.x, position.y, position.x + size.width, position.y + size.height);
+        }
+        spatialGrid.prepare();
+
+        var random = new Random(SEED);
+        for (var i = 0; i < QUERIES_PER_INVOCATION; i++) {
+            queryX[i] = random.nextFloat() * (WORLD_WIDTH - BALL_SIZE - SWEEP_DISTANCE);
+            queryY[i] = random.nextFloat() * (WORLD_HEIGHT - BALL_SIZE - SWEEP_DISTANCE);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES_PER_INVOCATION)
+    public int query() {
+        var found = 0;
+        for (var i = 0; i < QUERIES_PER_INVOCATION; i++) {
+            var left = queryX[i];
+            var bottom = queryY[i];
+            var right = left + BALL_SIZE + SWEEP_DISTANCE;
+            var top = bottom + BALL_SIZE + SWEEP_DISTANCE;
+            found += dedupe.equals("stamp")
+                ? queryWithStamp(left, bottom, right, top)
+                : queryWithIntSet(left, bottom, right, top);
+        }
+        return found;
+    }
+
+    private int queryWithStamp(float left, float bottom, float right, float top) {
+        candidates.setSize(0);
+        visited.next();
+        spatialGrid.query(left, bottom, right, top, visited, candidates);
+        return candidates.size();
+    }
+
+    private int queryWithIntSet(float left, float bottom, float right, float top) {
+        candidates.setSize(0);
+        visited.next();
+        spatialGrid.query(left, bottom, right, top, visited, candidates);
+
+        candidateSet.clear();
+        var found = 0;
+        for (var i = 0; i < candidates.size(); i++) {
+            if (candidateSet.add(candidates.get(i))) found++;
+        }
+        return found;
+    }
+}
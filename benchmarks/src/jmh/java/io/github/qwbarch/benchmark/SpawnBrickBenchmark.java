@@ -0,0 +1,76 @@
+package io.github.qwbarch.benchmark;
+
+import com.artemis.World;
+import io.github.qwbarch.entity.EntitySpawner;
+import io.github.qwbarch.headless.HeadlessRunner;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.github.qwbarch.Main.*;
+
+/**
+ * Measures how many bricks can be spawned per second, including the game tick that adds them to the world
+ * (which is when they get their physics slot and are inserted into the static spatial grid).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SpawnBrickBenchmark {
+    /**
+     * Enough bricks to fill the world.
+     */
+    private static final int COLUMNS = (int) (WORLD_WIDTH / BRICK_SIZE);
+    private static final int ROWS = (int) (WORLD_HEIGHT / BRICK_SIZE);
+    private static final int BRICKS_PER_INVOCATION = COLUMNS * ROWS;
+
+    /**
+     * The same bricks as flat arrays, for the bulk spawn.
+     */
+    private static final float[] BRICK_X = new float[BRICKS_PER_INVOCATION];
+    private static final float[] BRICK_Y = new float[BRICKS_PER_INVOCATION];
+    private static final int[] BRICK_HITPOINTS = new int[BRICKS_PER_INVOCATION];
+
+    static {
+        var i = 0;
+        for (var column = 0; column < COLUMNS; column++) {
+            for (var row = 0; row < ROWS; row++) {
+                BRICK_X[i] = column * BRICK_SIZE;
+                BRICK_Y[i] = row * BRICK_SIZE;
+                BRICK_HITPOINTS[i] = 1 + (column + row) % 3;
+                i++;
+            }
+        }
+    }
+
+    private World world;
+    private EntitySpawner spawner;
+
+    @Setup(Level.Invocation)
+    public void setup() {
+        var component = HeadlessRunner.createComponent();
+        component.getStrategy().setManualStepping(true);
+        world = component.getWorld();
+        spawner = component.getEntitySpawner();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BRICKS_PER_INVOCATION)
+    public World spawnBricks() {
+        for (var column = 0; column < COLUMNS; column++) {
+            for (var row = 0; row < ROWS; row++) {
+                spawner.spawnBrick(column * BRICK_SIZE, row * BRICK_SIZE, 1 + (column + row) % 3);
+            }
+        }
+        world.process();
+        return world;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BRICKS_PER_INVOCATION)
+    public World spawnBricksBulk() {
+        spawner.spawnBricks(BRICK_X, BRICK_Y, BRICK_HITPOINTS, BRICKS_PER_INVOCATION);
+        world.process();
+        return world;
+    }
+}
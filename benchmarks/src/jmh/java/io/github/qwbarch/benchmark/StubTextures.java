@@ -0,0 +1,59 @@
+package io.github.qwbarch.benchmark;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Graphics;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.glutils.GLOnlyTextureData;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * Creates textures without a GL context.
+ * <p/>
+ * The render system skips entities without a texture, and the headless simulation never loads any,
+ * so a benchmark needs to hand out textures of its own. Creating a texture makes a handful of GL calls,
+ * which are answered here by a GL20/Graphics proxy that does nothing.
+ * The proxies are only used while creating the texture, so they never show up in a measurement.
+ */
+public final class StubTextures {
+    private StubTextures() {}
+
+    /**
+     * A proxy of the given interface where every method does nothing and returns its type's default value.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T noOp(Class<T> type) {
+        return (T) Proxy.newProxyInstance(
+            type.getClassLoader(),
+            new Class<?>[]{type},
+            (var proxy, var method, var args) -> {
+                var returnType = method.getReturnType();
+                if (returnType == boolean.class) return false;
+                if (returnType == int.class) return 0;
+                if (returnType == long.class) return 0L;
+                if (returnType == float.class) return 0f;
+                if (returnType == double.class) return 0d;
+                return null;
+            }
+        );
+    }
+
+    /**
+     * Create a 1x1 texture that was never uploaded anywhere.
+     */
+    public static Texture create() {
+        var previousGl = Gdx.gl;
+        var previousGl20 = Gdx.gl20;
+        var previousGraphics = Gdx.graphics;
+        try {
+            Gdx.gl = Gdx.gl20 = noOp(GL20.class);
+            Gdx.graphics = noOp(Graphics.class);
+            return new Texture(new GLOnlyTextureData(1, 1, 0, GL20.GL_RGBA, GL20.GL_RGBA, GL20.GL_UNSIGNED_BYTE));
+        } finally {
+            Gdx.gl = previousGl;
+            Gdx.gl20 = previousGl20;
+            Gdx.graphics = previousGraphics;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package io.github.qwbarch;
+
+/**
+ * Where the game loop gets the current time from.
+ * This is injected instead of calling System.nanoTime() directly, so the time can be controlled
+ * (for example, to make two runs of the game behave exactly the same).
+ */
+@FunctionalInterface
+public interface Clock {
+    /**
+     * The real time, from System.nanoTime().
+     */
+    Clock SYSTEM = System::nanoTime;
+
+    /**
+     * The current time in nanoseconds. Like System.nanoTime(), this is only meaningful
+     * when compared to another value from the same clock.
+     */
+    long nanoTime();
+}
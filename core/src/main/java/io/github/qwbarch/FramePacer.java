@@ -0,0 +1,145 @@
+package io.github.qwbarch;
+
+import com.badlogic.gdx.Gdx;
+import io.github.qwbarch.entity.strategy.SampleWindow;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Limits how often frames are rendered, since vsync is turned off and LibGDX would otherwise render
+ * as fast as the CPU allows (which pins a core, even on the menus).
+ * <p/>
+ * Sleeping alone isn't precise enough for a frame cap (the OS can oversleep by a millisecond or more),
+ * and spinning alone burns the CPU we're trying to save. So the pacer sleeps for most of the frame,
+ * and spin-waits the last slice to wake up on time.
+ * <p/>
+ * This is a singleton, so one instance is used for the entire game.
+ */
+@Singleton
+public final class FramePacer {
+    /**
+     * The number of frames kept for reporting frame times and jitter.
+     */
+    private static final int WINDOW_SIZE = 240;
+
+    // Dependencies injected via dagger.
+    private final int menuFps;
+    private final int gameplayFps;
+    private final long spinNanos;
+
+    /**
+     * Time between the last few frames, in nanoseconds.
+     */
+    private final SampleWindow frameTimes = new SampleWindow(WINDOW_SIZE);
+
+    /**
+     * How far off the last few frames were from the target frame time, in nanoseconds.
+     */
+    private final SampleWindow jitter = new SampleWindow(WINDOW_SIZE);
+
+    /**
+     * When the next frame is meant to start.
+     */
+    private long nextFrameTime = System.nanoTime();
+
+    /**
+     * When the last frame started, for measuring frame times.
+     */
+    private long lastFrameTime = nextFrameTime;
+
+    /**
+     * When the frame times were last logged.
+     */
+    private long lastLogTime = nextFrameTime;
+
+    // Package-private constructor since dagger injects the dependencies.
+    @Inject
+    FramePacer(
+        @Named("menuFps") int menuFps,
+        @Named("gameplayFps") int gameplayFps,
+        @Named("frameSpinNanos") long spinNanos
+    ) {
+        this.menuFps = menuFps;
+        this.gameplayFps = gameplayFps;
+        this.spinNanos = spinNanos;
+    }
+
+    /**
+     * Wait until the next frame is due. This needs to be called once at the end of every frame.
+     * @param gameplay Whether or not the game is being played, which uses the gameplay cap instead of the menu cap.
+     */
+    public void sync(boolean gameplay) {
+        var fps = gameplay ? gameplayFps : menuFps;
+        var now = System.nanoTime();
+
+        // Uncapped, so the frame time is only recorded.
+        if (fps <= 0) {
+            nextFrameTime = now;
+            record(now, 0L);
+            return;
+        }
+
+        var nanosPerFrame = 1_000_000_000L / fps;
+        nextFrameTime += nanosPerFrame;
+
+        // If we're running behind (or the cap changed), start over from now instead of
+        // rendering a burst of frames to catch up.
+        if (now - nextFrameTime > nanosPerFrame) {
+            nextFrameTime = now;
+        }
+
+        // Sleep for most of the remaining time, leaving the last slice for spinning.
+        var remaining = nextFrameTime - now;
+        if (remaining > spinNanos) {
+            LockSupport.parkNanos(remaining - spinNanos);
+        }
+
+        // Spin for the rest of the frame, since waking up from a sleep isn't precise.
+        while ((now = System.nanoTime()) < nextFrameTime) {
+            Thread.onSpinWait();
+        }
+
+        record(now, nanosPerFrame);
+    }
+
+    private void record(long now, long nanosPerFrame) {
+        var frameTime = now - lastFrameTime;
+        lastFrameTime = now;
+        frameTimes.add(frameTime);
+        if (nanosPerFrame > 0L) jitter.add(Math.abs(frameTime - nanosPerFrame));
+    }
+
+    /**
+     * Time between the last few frames, in nanoseconds.
+     */
+    public SampleWindow getFrameTimes() {
+        return frameTimes;
+    }
+
+    /**
+     * How far off the last few frames were from the target frame time, in nanoseconds.
+     * Frames that aren't capped aren't recorded.
+     */
+    public SampleWindow getJitter() {
+        return jitter;
+    }
+
+    /**
+     * Every second, log the frame times and jitter to the console, similar to FPSLogger.
+     */
+    public void log() {
+        var now = System.nanoTime();
+        if (now - lastLogTime > 1_000_000_000L) {
+            lastLogTime = now;
+            Gdx.app.log(
+                "FramePacer",
+                "frame time: " + String.format("%.2f", frameTimes.getMean() / 1_000_000.0) + "ms"
+                    + ", jitter mean: " + String.format("%.1f", jitter.getMean() / 1_000.0) + "us"
+                    + ", jitter p99: " + String.format("%.1f", jitter.getPercentile(0.99) / 1_000.0) + "us"
+            );
+        }
+    }
+}
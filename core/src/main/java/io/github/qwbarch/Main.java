@@ -4,11 +4,16 @@ import com.badlogic.gdx.ApplicationListener;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.FPSLogger;
+import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.utils.ScreenUtils;
 import io.github.qwbarch.asset.AssetMap;
 import io.github.qwbarch.dagger.DaggerComponent;
+import io.github.qwbarch.replay.InputLog;
 import io.github.qwbarch.screen.ScreenHandler;
 
+import java.io.FileInputStream;
+import java.io.IOException;
+
 /**
  * The main entry-point of the game.
  */
@@ -28,72 +33,77 @@ public class Main implements ApplicationListener {
     /**
      * Update the game's logic at a fixed 60 updates per second.
      */
-    private final static float SECONDS_PER_TICK = 1f / 60f;
+    public final static float SECONDS_PER_TICK = 1f / 60f;
+
+    /**
+     * The cooldown between two collisions triggering the same sound/callback, in game ticks (0.1 seconds).
+     */
+    public final static int COLLISION_COOLDOWN_TICKS = Math.round(0.1f / SECONDS_PER_TICK);
 
     /**
      * World width using in-game units.
      */
-    private final static float WORLD_WIDTH = 120f;
+    public final static float WORLD_WIDTH = 120f;
 
     /**
      * World height using in-game units.
      */
-    private final static float WORLD_HEIGHT = 100f;
+    public final static float WORLD_HEIGHT = 100f;
 
     /**
      * The brick's width/height using in-game units.
      */
-    private final static float BRICK_SIZE = 4f;
+    public final static float BRICK_SIZE = 4f;
 
     /**
      * The ball's width/height using in-game units.
      */
-    private final static float BALL_SIZE = 1.3f;
+    public final static float BALL_SIZE = 1.3f;
 
     /**
      * The paddle's width using in-game units.
      */
-    private final static float PADDLE_WIDTH = 12.1f;
+    public final static float PADDLE_WIDTH = 12.1f;
 
     /**
      * The paddle's height using in-game units.
      */
-    private final static float PADDLE_HEIGHT = 2.42f;
+    public final static float PADDLE_HEIGHT = 2.42f;
 
     /**
      * The paddle's spawning x-coordinate using in-game units.
      */
-    private final static float PADDLE_SPAWN_X = (WORLD_WIDTH / 2f) - (PADDLE_WIDTH / 2f);
+    public final static float PADDLE_SPAWN_X = (WORLD_WIDTH / 2f) - (PADDLE_WIDTH / 2f);
 
     /**
      * The paddle's spawning y-coordinate using in-game units.
      */
-    private final static float PADDLE_SPAWN_Y = 10f;
+    public final static float PADDLE_SPAWN_Y = 10f;
 
     /**
      * The speed of the paddle using in-game units.
      */
-    private final static float PADDLE_VELOCITY = 160f;
+    public final static float PADDLE_VELOCITY = 160f;
 
     /**
      * The ball's spawning x-coordinate using in-game units.
      */
-    private final static float STARTING_BALL_SPAWN_X = (WORLD_WIDTH / 2f) - (BALL_SIZE / 2f);
+    public final static float STARTING_BALL_SPAWN_X = (WORLD_WIDTH / 2f) - (BALL_SIZE / 2f);
 
     /**
      * The ball's spawning y-coordinate using in-game units.
      */
-    private final static float STARTING_BALL_SPAWN_Y = PADDLE_SPAWN_Y + BALL_SIZE + 1.1f;
+    public final static float STARTING_BALL_SPAWN_Y = PADDLE_SPAWN_Y + BALL_SIZE + 1.1f;
 
     /**
      * The ball's velocity using in-game units.
      */
-    private final static float BALL_VELOCITY = 120f;
+    public final static float BALL_VELOCITY = 120f;
 
     /**
      * The velocity of the spawned ball dropping towards the ground.
      */
-    private final static float BALL_SPAWN_VELOCITY = 30f;
+    public final static float BALL_SPAWN_VELOCITY = 30f;
 
     /**
      * The left part of the logo.
@@ -113,12 +123,83 @@ public class Main implements ApplicationListener {
     /**
      * Chance to spawn a ball from hitting a brick.
      */
-    private static final float SPAWN_BALL_CHANCE = 0.25f;
+    public static final float SPAWN_BALL_CHANCE = 0.25f;
+
+    /**
+     * The maximum number of despawned dropping balls kept around for re-use.
+     * Any more than this are deleted instead.
+     */
+    public static final int BALL_POOL_CAPACITY = 256;
 
     /**
      * The cell size of the spatial grid used for collision detection.
      */
-    private static final int GRID_CELL_SIZE = (int) BRICK_SIZE;
+    public static final int GRID_CELL_SIZE = (int) BRICK_SIZE;
+
+    /**
+     * Whether or not the spatial grid stores its cells in flat arrays covering the bounded world,
+     * instead of a hash map of cells.
+     */
+    public static final boolean DENSE_SPATIAL_GRID = true;
+
+    /**
+     * The thickness of the invisible borders surrounding the world using in-game units.
+     */
+    public static final float WORLD_BORDER_SIZE = 100f;
+
+    /**
+     * Whether or not colliders are swept for collisions concurrently.
+     * Only worth it when there are lots of balls (bonus level), and gives the exact same result either way.
+     */
+    public static final boolean PARALLEL_COLLISIONS = false;
+
+    /**
+     * Whether or not the logic systems run on a dedicated simulation thread, instead of the render thread.
+     * Rendering then draws snapshots published by the simulation thread.
+     */
+    public static final boolean SIMULATION_THREAD = false;
+
+    /**
+     * Whether or not systems that don't touch the same components run concurrently.
+     * What each system touches is derived from its aspect, its component mappers and its @SystemAccess annotation.
+     */
+    public static final boolean PARALLEL_SYSTEMS = false;
+
+    /**
+     * Debug mode that runs systems one at a time, and fails if a system adds or removes components
+     * (or creates or deletes entities) without declaring it. Useful after changing a system while PARALLEL_SYSTEMS is on.
+     */
+    public static final boolean CHECK_SYSTEM_ACCESS = false;
+
+    /**
+     * Whether or not to start with the system profiler running. It can also be toggled in-game with F3,
+     * which shows an overlay of how long each system takes.
+     */
+    public static final boolean PROFILE_SYSTEMS = false;
+
+    /**
+     * Frame cap for the menus, since vsync is turned off. 0 means uncapped.
+     */
+    public static final int MENU_FPS = 60;
+
+    /**
+     * Frame cap while playing a level. This is higher than the menu cap, since the ball's movement
+     * is interpolated between game ticks and looks smoother on high refresh rate monitors. 0 means uncapped.
+     */
+    public static final int GAMEPLAY_FPS = 240;
+
+    /**
+     * The last slice of every frame that the frame pacer spin-waits instead of sleeping (2 milliseconds),
+     * since sleeps can overshoot by about a millisecond on some operating systems.
+     */
+    public static final long FRAME_SPIN_NANOS = 2_000_000L;
+
+    /**
+     * Whether or not every level played is recorded to the "replays" directory.
+     * Recordings are small (a few bytes per key press), and allow bugs to be reproduced exactly as they happened.
+     * This is off by default, since it's only useful while debugging. Only the most recent recordings are kept.
+     */
+    public static final boolean RECORD_REPLAYS = false;
 
     /**
      * An FPS logger. Normally it'd be better to display the FPS in-game,
@@ -138,14 +219,44 @@ public class Main implements ApplicationListener {
      */
     private AssetMap assets;
 
+    /**
+     * Limits the frame rate, since LibGDX renders as fast as it can with vsync turned off.
+     */
+    private FramePacer framePacer;
+
+    /**
+     * A recording to play back instead of starting at the menu, or null to play the game normally.
+     */
+    private final String replayPath;
+
+    /**
+     * The time scale to play the recording back at.
+     */
+    private final float replayTimeScale;
+
+    public Main() {
+        this(null, 1f);
+    }
+
+    /**
+     * @param replayPath A recording to play back instead of starting at the menu, or null to play the game normally.
+     * @param replayTimeScale The time scale to play the recording back at.
+     */
+    public Main(String replayPath, float replayTimeScale) {
+        this.replayPath = replayPath;
+        this.replayTimeScale = replayTimeScale;
+    }
+
     @Override
     public void create() {
         // Dagger creates all of our dependencies and injects the required constructor parameters.
+        // The simulation gets a different random seed every launch, so levels don't play out the same every time.
         var component =
                 DaggerComponent
                     .factory()
                     .create(
                         SECONDS_PER_TICK,
+                        COLLISION_COOLDOWN_TICKS,
                         WORLD_WIDTH,
                         WORLD_HEIGHT,
                         WORLD_BACKGROUND_COLOR,
@@ -164,10 +275,34 @@ public class Main implements ApplicationListener {
                         RIGHT_LOGO,
                         LOGO,
                         SPAWN_BALL_CHANCE,
-                        GRID_CELL_SIZE
+                        BALL_POOL_CAPACITY,
+                        GRID_CELL_SIZE,
+                        DENSE_SPATIAL_GRID,
+                        WORLD_BORDER_SIZE,
+                        PARALLEL_COLLISIONS,
+                        SIMULATION_THREAD,
+                        PARALLEL_SYSTEMS,
+                        CHECK_SYSTEM_ACCESS,
+                        PROFILE_SYSTEMS,
+                        MENU_FPS,
+                        GAMEPLAY_FPS,
+                        FRAME_SPIN_NANOS,
+                        MathUtils.random.nextLong(),
+                        RECORD_REPLAYS
                     );
         screenHandler = component.getScreenHandler();
         assets = component.getAssets();
+        framePacer = component.getFramePacer();
+
+        // The loading screen goes straight to the recording's level, instead of the menu.
+        if (replayPath != null) {
+            try (var stream = new FileInputStream(replayPath)) {
+                component.getReplayPlayer().setPending(InputLog.read(stream));
+            } catch (IOException exception) {
+                throw new RuntimeException(exception);
+            }
+            component.getStrategy().setTimeScale(replayTimeScale);
+        }
 
         // Input multiplexer allows multiple input processors to be registered at once.
         Gdx.input.setInputProcessor(component.getInputMultiplexer());
@@ -182,17 +317,21 @@ public class Main implements ApplicationListener {
         screenHandler.getCurrentScreen().resize(width, height);
     }
 
-    // Render is called as often as possible by LibGDX.
+    // Render is called as often as possible by LibGDX, so the frame pacer limits the frame rate instead.
     @Override
     public void render() {
         // Every second, fps logger will print the current FPS to the console.
         fpsLogger.log();
+        framePacer.log();
 
         // Clear the screen at the start of every frame.
         ScreenUtils.clear(MAIN_BACKGROUND_COLOR);
 
         // Render the current screen.
         screenHandler.getCurrentScreen().render();
+
+        // Wait out the rest of the frame, instead of immediately rendering the next one.
+        framePacer.sync(screenHandler.getCurrentScreen().isGameplay());
     }
 
     @Override
@@ -12,11 +12,11 @@ import io.github.qwbarch.asset.AssetMap;
  */
 public class MenuButton extends TextButton  {
     /**
-     * A timestamp of the last time a hover sound was played.
+     * Seconds elapsed since the last time a hover sound was played, accumulated from the stage's delta.
      * This is needed since the "enter" event is triggered very often,
      * causing the hover sound to be spammed.
      */
-    private float lastPlayedTime;
+    private float timeSinceLastPlayed = Float.MAX_VALUE;
 
     /**
      * Create a new menu button.
@@ -30,12 +30,9 @@ public class MenuButton extends TextButton  {
         addListener(new InputListener() {
             @Override
             public void enter(InputEvent event, float x, float y, int pointer, Actor fromActor) {
-                var currentTime = System.nanoTime();
-                var timeSinceLastPlayed = (currentTime - lastPlayedTime) / 1_000_000_000f;
-
                 // Only play the hover sound if it's been at least 0.2 seconds since the last sound was played.
                 if (pointer == -1 && timeSinceLastPlayed > 0.2f) {
-                    lastPlayedTime = currentTime;
+                    timeSinceLastPlayed = 0f;
                     assets.getButtonHoverSound().play();
                 }
             }
@@ -49,4 +46,10 @@ public class MenuButton extends TextButton  {
             }
         });
     }
+
+    @Override
+    public void act(float delta) {
+        super.act(delta);
+        timeSinceLastPlayed += delta;
+    }
 }
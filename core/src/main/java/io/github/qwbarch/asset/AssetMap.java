@@ -130,57 +130,66 @@ public final class AssetMap implements Disposable {
         return finishedLoading;
     }
 
+    /**
+     * Get the asset, or null if it isn't loaded.
+     * The game's textures and sounds are optional, which allows the game to run without
+     * a window or audio device (nothing gets loaded when running headless).
+     */
+    private <T> T getIfLoaded(String path, Class<T> type) {
+        return assetManager.isLoaded(path, type) ? assetManager.get(path, type) : null;
+    }
+
     public Texture getBallTexture() {
-        return assetManager.get(BALL_TEXTURE_PATH, Texture.class);
+        return getIfLoaded(BALL_TEXTURE_PATH, Texture.class);
     }
 
     public Texture getPaddleTexture() {
-        return assetManager.get(PADDLE_TEXTURE_PATH, Texture.class);
+        return getIfLoaded(PADDLE_TEXTURE_PATH, Texture.class);
     }
 
     public Texture getGreyBrickTexture() {
-        return assetManager.get(GREY_BRICK_TEXTURE_PATH, Texture.class);
+        return getIfLoaded(GREY_BRICK_TEXTURE_PATH, Texture.class);
     }
 
     public Texture getGreenBrickTexture() {
-        return assetManager.get(GREEN_BRICK_TEXTURE_PATH, Texture.class);
+        return getIfLoaded(GREEN_BRICK_TEXTURE_PATH, Texture.class);
     }
 
     public Texture getRedBrickTexture() {
-        return assetManager.get(RED_BRICK_TEXTURE_PATH, Texture.class);
+        return getIfLoaded(RED_BRICK_TEXTURE_PATH, Texture.class);
     }
 
     public Texture getYellowBrickTexture() {
-        return assetManager.get(YELLOW_BRICK_TEXTURE_PATH, Texture.class);
+        return getIfLoaded(YELLOW_BRICK_TEXTURE_PATH, Texture.class);
     }
 
     public Sound getBackgroundMusic() {
-        return assetManager.get(BACKGROUND_MUSIC_PATH, Sound.class);
+        return getIfLoaded(BACKGROUND_MUSIC_PATH, Sound.class);
     }
 
     public Sound getGameOverSound() {
-        return assetManager.get(GAME_OVER_SOUND_PATH, Sound.class);
+        return getIfLoaded(GAME_OVER_SOUND_PATH, Sound.class);
     }
 
     public Sound getBallSpawnSound() {
-        return assetManager.get(BALL_SPAWN_SOUND_PATH, Sound.class);
+        return getIfLoaded(BALL_SPAWN_SOUND_PATH, Sound.class);
     }
 
     public Sound getHardBounceSound() {
-        return assetManager.get(HARD_BOUNCE_SOUND_PATH, Sound.class);
+        return getIfLoaded(HARD_BOUNCE_SOUND_PATH, Sound.class);
     }
 
     public Sound getSoftBounceSound() {
-        return assetManager.get(BALL_SPAWN_SOUND_PATH, Sound.class);
+        return getIfLoaded(BALL_SPAWN_SOUND_PATH, Sound.class);
         //return assetManager.get(SOFT_BOUNCE_SOUND_PATH, Sound.class);
     }
 
     public Sound getButtonHoverSound() {
-        return assetManager.get(BUTTON_HOVER_SOUND_PATH, Sound.class);
+        return getIfLoaded(BUTTON_HOVER_SOUND_PATH, Sound.class);
     }
 
     public Sound getButtonClickSound() {
-        return assetManager.get(BUTTON_CLICK_SOUND_PATH, Sound.class);
+        return getIfLoaded(BUTTON_CLICK_SOUND_PATH, Sound.class);
     }
 
     public Skin getSkin() {
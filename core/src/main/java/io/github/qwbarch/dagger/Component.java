@@ -3,7 +3,10 @@ package io.github.qwbarch.dagger;
 import com.badlogic.gdx.InputMultiplexer;
 import com.badlogic.gdx.graphics.Color;
 import dagger.BindsInstance;
+import io.github.qwbarch.FramePacer;
 import io.github.qwbarch.asset.AssetMap;
+import io.github.qwbarch.entity.strategy.FixedTimestepInvocationStrategy;
+import io.github.qwbarch.replay.ReplayPlayer;
 import io.github.qwbarch.screen.LoadingScreen;
 import io.github.qwbarch.screen.ScreenHandler;
 
@@ -22,6 +25,12 @@ public interface Component {
 
     AssetMap getAssets();
 
+    FramePacer getFramePacer();
+
+    FixedTimestepInvocationStrategy getStrategy();
+
+    ReplayPlayer getReplayPlayer();
+
     InputMultiplexer getInputMultiplexer();
 
     // Dependencies needed for dagger to inject into class constructors.
@@ -29,6 +38,7 @@ public interface Component {
     interface Factory {
         Component create(
             @BindsInstance @Named("secondsPerTick") float secondsPerTick,
+            @BindsInstance @Named("collisionCooldownTicks") int collisionCooldownTicks,
             @BindsInstance @Named("worldWidth") float worldWidth,
             @BindsInstance @Named("worldHeight") float worldHeight,
             @BindsInstance @Named("worldBackground") Color worldBackground,
@@ -47,7 +57,20 @@ public interface Component {
             @BindsInstance @Named("rightLogo") String rightLogo,
             @BindsInstance @Named("logo") String logo,
             @BindsInstance @Named("spawnBallChance") float spawnBallChance,
-            @BindsInstance @Named("gridCellSize") int gridCellSize
+            @BindsInstance @Named("ballPoolCapacity") int ballPoolCapacity,
+            @BindsInstance @Named("gridCellSize") int gridCellSize,
+            @BindsInstance @Named("denseSpatialGrid") boolean denseSpatialGrid,
+            @BindsInstance @Named("worldBorderSize") float worldBorderSize,
+            @BindsInstance @Named("parallelCollisions") boolean parallelCollisions,
+            @BindsInstance @Named("simulationThread") boolean simulationThread,
+            @BindsInstance @Named("parallelSystems") boolean parallelSystems,
+            @BindsInstance @Named("checkSystemAccess") boolean checkSystemAccess,
+            @BindsInstance @Named("profileSystems") boolean profileSystems,
+            @BindsInstance @Named("menuFps") int menuFps,
+            @BindsInstance @Named("gameplayFps") int gameplayFps,
+            @BindsInstance @Named("frameSpinNanos") long frameSpinNanos,
+            @BindsInstance @Named("randomSeed") long randomSeed,
+            @BindsInstance @Named("recordReplays") boolean recordReplays
         );
     }
 }
@@ -0,0 +1,83 @@
+package io.github.qwbarch.dagger;
+
+import com.artemis.World;
+import com.badlogic.gdx.InputMultiplexer;
+import dagger.BindsInstance;
+import io.github.qwbarch.entity.BallPool;
+import io.github.qwbarch.entity.EntitySpawner;
+import io.github.qwbarch.entity.strategy.FixedTimestepInvocationStrategy;
+import io.github.qwbarch.entity.strategy.InputLatency;
+import io.github.qwbarch.entity.strategy.SystemProfiler;
+import io.github.qwbarch.level.BonusLevelLayout;
+import io.github.qwbarch.level.Level1Layout;
+import io.github.qwbarch.level.Level2Layout;
+import io.github.qwbarch.replay.InputRecorder;
+import io.github.qwbarch.replay.ReplayPlayer;
+
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+/**
+ * The access-point of the dagger dependency graph when running the game's simulation headless.
+ * Unlike {@link Component}, nothing in this graph needs a window or audio device.
+ */
+@dagger.Component(modules = {HeadlessModule.class})
+@Singleton
+public interface HeadlessComponent {
+    World getWorld();
+
+    FixedTimestepInvocationStrategy getStrategy();
+
+    SystemProfiler getProfiler();
+
+    InputLatency getInputLatency();
+
+    ReplayPlayer getReplayPlayer();
+
+    InputRecorder getInputRecorder();
+
+    InputMultiplexer getInputMultiplexer();
+
+    EntitySpawner getEntitySpawner();
+
+    BallPool getBallPool();
+
+    Level1Layout getLevel1Layout();
+
+    Level2Layout getLevel2Layout();
+
+    BonusLevelLayout getBonusLevelLayout();
+
+    // Dependencies needed for dagger to inject into class constructors.
+    @dagger.Component.Factory
+    interface Factory {
+        HeadlessComponent create(
+            @BindsInstance @Named("secondsPerTick") float secondsPerTick,
+            @BindsInstance @Named("collisionCooldownTicks") int collisionCooldownTicks,
+            @BindsInstance @Named("worldWidth") float worldWidth,
+            @BindsInstance @Named("worldHeight") float worldHeight,
+            @BindsInstance @Named("brickSize") float brickSize,
+            @BindsInstance @Named("ballSize") float ballSize,
+            @BindsInstance @Named("ballVelocity") float ballVelocity,
+            @BindsInstance @Named("ballSpawnVelocity") float ballSpawnVelocity,
+            @BindsInstance @Named("startingBallSpawnX") float startingBallSpawnX,
+            @BindsInstance @Named("startingBallSpawnY") float startingBallSpawnY,
+            @BindsInstance @Named("paddleWidth") float paddleWidth,
+            @BindsInstance @Named("paddleHeight") float paddleHeight,
+            @BindsInstance @Named("paddleVelocity") float paddleVelocity,
+            @BindsInstance @Named("paddleSpawnX") float paddleSpawnX,
+            @BindsInstance @Named("paddleSpawnY") float paddleSpawnY,
+            @BindsInstance @Named("spawnBallChance") float spawnBallChance,
+            @BindsInstance @Named("ballPoolCapacity") int ballPoolCapacity,
+            @BindsInstance @Named("gridCellSize") int gridCellSize,
+            @BindsInstance @Named("denseSpatialGrid") boolean denseSpatialGrid,
+            @BindsInstance @Named("worldBorderSize") float worldBorderSize,
+            @BindsInstance @Named("parallelCollisions") boolean parallelCollisions,
+            @BindsInstance @Named("parallelSystems") boolean parallelSystems,
+            @BindsInstance @Named("checkSystemAccess") boolean checkSystemAccess,
+            @BindsInstance @Named("profileSystems") boolean profileSystems,
+            @BindsInstance @Named("randomSeed") long randomSeed,
+            @BindsInstance @Named("recordReplays") boolean recordReplays
+        );
+    }
+}
@@ -0,0 +1,44 @@
+package io.github.qwbarch.dagger;
+
+import com.artemis.World;
+import com.artemis.WorldConfigurationBuilder;
+import dagger.Provides;
+import io.github.qwbarch.entity.strategy.FixedTimestepInvocationStrategy;
+import io.github.qwbarch.entity.system.BrickSystem;
+import io.github.qwbarch.entity.system.DespawnSystem;
+import io.github.qwbarch.entity.system.InputSystem;
+import io.github.qwbarch.entity.system.MovementCollisionSystem;
+
+import javax.inject.Singleton;
+
+/**
+ * Provides class instances for running the game's simulation without a window or audio device.
+ */
+@dagger.Module(includes = SimulationModule.class)
+public final class HeadlessModule {
+    /**
+     * Provider method for the entity component system world, with only the systems that don't need a window.
+     * Nothing is rendered, and the game over condition is left to whoever is running the simulation,
+     * since there are no screens to switch to.
+     * This is a singleton, so one instance is used for the entire simulation.
+     */
+    @Provides
+    @Singleton
+    public World provideWorld(
+        FixedTimestepInvocationStrategy strategy,
+        MovementCollisionSystem movementCollisionSystem,
+        BrickSystem brickSystem,
+        InputSystem inputSystem,
+        DespawnSystem despawnSystem
+    ) {
+        return new World(
+            new WorldConfigurationBuilder()
+                .with(inputSystem)
+                .with(movementCollisionSystem)
+                .with(brickSystem)
+                .with(despawnSystem)
+                .register(strategy)
+                .build()
+        );
+    }
+}
@@ -2,7 +2,7 @@ package io.github.qwbarch.dagger;
 
 import com.artemis.World;
 import com.artemis.WorldConfigurationBuilder;
-import com.badlogic.gdx.InputMultiplexer;
+import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import dagger.Provides;
@@ -14,8 +14,9 @@ import javax.inject.Singleton;
 /**
  * Provides class instances that dagger does not
  * know how to construct (classes that don't have the @Inject annotation).
+ * Anything that the game's simulation needs, with or without a window, is provided by {@link SimulationModule}.
  */
-@dagger.Module
+@dagger.Module(includes = SimulationModule.class)
 public final class Module {
     /**
      * Provider method for the entity component system world with all its systems enabled.
@@ -27,6 +28,7 @@ public final class Module {
         FixedTimestepInvocationStrategy strategy,
         RenderSystem renderSystem,
         MovementCollisionSystem movementCollisionSystem,
+        BrickSystem brickSystem,
         InputSystem inputSystem,
         DespawnSystem despawnSystem,
         GameOverSystem gameOverSystem
@@ -35,6 +37,7 @@ public final class Module {
             new WorldConfigurationBuilder()
                 .with(inputSystem)
                 .with(movementCollisionSystem)
+                .with(brickSystem)
                 .with(despawnSystem)
                 .with(gameOverSystem)
                 .with(renderSystem)
@@ -53,12 +56,12 @@ public final class Module {
     }
 
     /**
-     * This is a singleton, so one instance is used for the entire game.
+     * Systems that only draw textures depend on the Batch interface rather than the SpriteBatch,
+     * which allows them to be constructed without a GL context (for example, in benchmarks).
      */
     @Provides
-    @Singleton
-    public GlyphLayout provideGlyphLayout() {
-        return new GlyphLayout();
+    public Batch provideBatch(SpriteBatch batch) {
+        return batch;
     }
 
     /**
@@ -66,7 +69,7 @@ public final class Module {
      */
     @Provides
     @Singleton
-    public InputMultiplexer provideInputMultiplexer() {
-        return new InputMultiplexer();
+    public GlyphLayout provideGlyphLayout() {
+        return new GlyphLayout();
     }
 }
@@ -0,0 +1,74 @@
+package io.github.qwbarch.dagger;
+
+import com.badlogic.gdx.InputMultiplexer;
+import com.badlogic.gdx.math.RandomXS128;
+import dagger.Provides;
+import io.github.qwbarch.Clock;
+import io.github.qwbarch.entity.spatial.DenseSpatialGrid;
+import io.github.qwbarch.entity.spatial.HashSpatialGrid;
+import io.github.qwbarch.entity.spatial.SpatialGrid;
+
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+/**
+ * Provides the class instances needed by the game's simulation, which don't depend on a window or audio device.
+ * This is shared by the game itself and the headless runner.
+ */
+@dagger.Module
+public final class SimulationModule {
+    /**
+     * Provider method for the spatial grid used for collision detection.
+     * This is not a singleton, so every injected grid is a new instance.
+     * <p/>
+     * The world is bounded by the invisible borders surrounding it, so a dense grid covering the world
+     * and its borders can be used. Anything outside of that still falls back to a hash grid.
+     */
+    @Provides
+    public SpatialGrid provideSpatialGrid(
+        @Named("gridCellSize") int gridCellSize,
+        @Named("worldWidth") float worldWidth,
+        @Named("worldHeight") float worldHeight,
+        @Named("worldBorderSize") float worldBorderSize,
+        @Named("denseSpatialGrid") boolean denseSpatialGrid
+    ) {
+        if (!denseSpatialGrid) return new HashSpatialGrid(gridCellSize);
+        return new DenseSpatialGrid(
+            gridCellSize,
+            -worldBorderSize,
+            -worldBorderSize,
+            worldWidth + worldBorderSize,
+            worldHeight + worldBorderSize
+        );
+    }
+
+    /**
+     * This is a singleton, so one instance is used for the entire game.
+     */
+    @Provides
+    @Singleton
+    public InputMultiplexer provideInputMultiplexer() {
+        return new InputMultiplexer();
+    }
+
+    /**
+     * Provider method for the clock the game loop reads the time from.
+     * This is a singleton, so one instance is used for the entire game.
+     */
+    @Provides
+    @Singleton
+    public Clock provideClock() {
+        return Clock.SYSTEM;
+    }
+
+    /**
+     * Provider method for the simulation's random number generator. Everything random in the world
+     * must come from here (not MathUtils.random), so that the same seed and inputs always play out the same.
+     * This is a singleton, so one instance is used for the entire game.
+     */
+    @Provides
+    @Singleton
+    public RandomXS128 provideRandom(@Named("randomSeed") long randomSeed) {
+        return new RandomXS128(randomSeed);
+    }
+}
@@ -0,0 +1,137 @@
+package io.github.qwbarch.entity;
+
+import com.artemis.Aspect;
+import com.artemis.EntitySubscription;
+import com.artemis.EntityTransmuter;
+import com.artemis.EntityTransmuterFactory;
+import com.artemis.World;
+import com.artemis.utils.IntBag;
+import com.badlogic.gdx.utils.IntArray;
+import io.github.qwbarch.entity.component.Despawnable;
+import io.github.qwbarch.entity.component.PlayerHealth;
+import io.github.qwbarch.entity.component.Position;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+/**
+ * Keeps despawned dropping balls around, so spawning a dropping ball re-uses one instead of creating a new entity.
+ * The bonus level drops thousands of balls a minute, which would otherwise create and delete just as many entities.
+ * <p/>
+ * A ball is parked by removing its Position and PlayerHealth, and keeps every other component.
+ * Every system needs a position, so no system sees a parked ball, and it no longer keeps the player alive.
+ * Taking a ball back out of the pool adds the two components back, and the spawner sets up the rest.
+ * <p/>
+ * This is a singleton, so one instance is used for the entire game.
+ */
+@Singleton
+public final class BallPool {
+    // Dependencies injected via dagger.
+    private final World world;
+    private final int capacity;
+
+    private final EntityTransmuter parkTransmuter;
+    private final EntityTransmuter unparkTransmuter;
+
+    /**
+     * The entity ids of the parked balls.
+     */
+    private final IntArray parked = new IntArray();
+
+    /**
+     * Number of balls taken out of the pool (hits), and number of balls that had to be created
+     * since the pool was empty (misses).
+     */
+    private long hits = 0L;
+    private long misses = 0L;
+
+    /**
+     * Number of balls deleted instead of parked, since the pool was full.
+     */
+    private long discarded = 0L;
+
+    // Package-private constructor since dagger injects the dependencies.
+    @Inject
+    BallPool(World world, @Named("ballPoolCapacity") int capacity) {
+        this.world = world;
+        this.capacity = capacity;
+
+        parkTransmuter = new EntityTransmuterFactory(world)
+            .remove(Position.class)
+            .remove(PlayerHealth.class)
+            .build();
+        unparkTransmuter = new EntityTransmuterFactory(world)
+            .add(Position.class)
+            .add(PlayerHealth.class)
+            .build();
+
+        // Parked balls are deleted along with every other entity when a level ends.
+        world
+            .getAspectSubscriptionManager()
+            .get(Aspect.all(Despawnable.class).exclude(Position.class))
+            .addSubscriptionListener(new EntitySubscription.SubscriptionListener() {
+                @Override
+                public void inserted(IntBag entities) {}
+
+                @Override
+                public void removed(IntBag entities) {
+                    // Balls taken out of the pool are already gone from the parked list, so this does nothing for them.
+                    for (var i = 0; i < entities.size(); i++) {
+                        parked.removeValue(entities.get(i));
+                    }
+                }
+            });
+    }
+
+    /**
+     * Take a ball out of the pool. Its position is added back, and everything else is left as it was despawned.
+     * @return The ball's entity id, or -1 if the pool is empty.
+     */
+    public int obtain() {
+        if (parked.size == 0) {
+            misses++;
+            return -1;
+        }
+        hits++;
+        var entityId = parked.pop();
+        unparkTransmuter.transmute(entityId);
+        return entityId;
+    }
+
+    /**
+     * Park a despawned ball, or delete it if the pool is full.
+     */
+    public void free(int entityId) {
+        if (parked.size >= capacity) {
+            discarded++;
+            world.delete(entityId);
+            return;
+        }
+        parkTransmuter.transmute(entityId);
+        parked.add(entityId);
+    }
+
+    /**
+     * The number of balls currently parked.
+     */
+    public int getSize() {
+        return parked.size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getDiscarded() {
+        return discarded;
+    }
+}
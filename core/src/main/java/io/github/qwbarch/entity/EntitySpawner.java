@@ -1,13 +1,20 @@
 package io.github.qwbarch.entity;
 
+import com.artemis.Archetype;
+import com.artemis.ArchetypeBuilder;
+import com.artemis.ComponentMapper;
+import com.artemis.EntityTransmuter;
+import com.artemis.EntityTransmuterFactory;
 import com.artemis.World;
-import com.badlogic.gdx.Input;
-import com.badlogic.gdx.InputAdapter;
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.math.MathUtils;
-import com.badlogic.gdx.utils.IntSet;
+import com.badlogic.gdx.math.RandomXS128;
 import io.github.qwbarch.asset.AssetMap;
 import io.github.qwbarch.entity.component.*;
-import io.github.qwbarch.entity.system.GameOverSystem;
+import io.github.qwbarch.entity.snapshot.LevelSnapshot;
+import io.github.qwbarch.entity.strategy.FixedTimestepInvocationStrategy;
+import io.github.qwbarch.entity.system.BrickSystem;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -22,6 +29,10 @@ public final class EntitySpawner {
     // Dependencies injected via dagger.
     private final World world;
     private final AssetMap assets;
+    private final FixedTimestepInvocationStrategy strategy;
+    private final BrickSystem brickSystem;
+    private final BallPool ballPool;
+    private final RandomXS128 random;
     private final float brickSize;
     private final float ballSize;
     private final float ballVelocity;
@@ -33,19 +44,80 @@ public final class EntitySpawner {
     private final float paddleSpawnY;
     private final float paddleWidth;
     private final float paddleHeight;
-    private final float spawnBallChance;
+    private final int collisionCooldownTicks;
+
+    // Archetypes for every kind of entity, so an entity gets all of its components in one go
+    // instead of changing its composition (and every subscription) once per component.
+    private final Archetype brickArchetype;
+    private final Archetype indestructibleBrickArchetype;
+    private final Archetype borderArchetype;
+    private final Archetype paddleArchetype;
+    private final Archetype startingBallArchetype;
+    private final Archetype droppingBallArchetype;
+
+    // A destroyed brick is parked (like a despawned ball in the ball pool) until the level is retried.
+    // Without a position no system sees it, and without a target it no longer counts towards winning.
+    private final EntityTransmuter brickParkTransmuter;
+    private final EntityTransmuter brickUnparkTransmuter;
+
+    // Component mappers, for filling in the components of a freshly created entity.
+    private final ComponentMapper<SpawnOrder> spawnOrders;
+    private final ComponentMapper<Position> positions;
+    private final ComponentMapper<LinearVelocity> velocities;
+    private final ComponentMapper<Size> sizes;
+    private final ComponentMapper<Sprite> sprites;
+    private final ComponentMapper<Collider> colliders;
+    private final ComponentMapper<ImpactSound> impactSounds;
+    private final ComponentMapper<CollisionListener> collisionListeners;
+    private final ComponentMapper<InputListener> inputListeners;
+    private final ComponentMapper<Hitpoints> hitpointsMapper;
+    private final ComponentMapper<Brick> bricks;
+    private final ComponentMapper<Despawnable> despawnables;
+
+    /**
+     * The collision listener shared by every dropping ball.
+     */
+    private final CollisionListener.CollisionListenerFunction droppingBallListener = this::catchDroppingBall;
+
+    /**
+     * The paddle's collision listener while the starting ball is attached to it.
+     */
+    private final CollisionListener.CollisionListenerFunction paddleListener = this::centerStartingBall;
+
+    /**
+     * The game tick the ball spawn sound was last played in, so a burst of dropping balls only plays it once.
+     */
+    private int lastBallSpawnSoundTick = Integer.MIN_VALUE / 2;
+
+    /**
+     * The spawn order handed to the next entity spawned.
+     */
+    private int nextSpawnOrder = 0;
+
+    /**
+     * The snapshot borders and bricks are being captured into, or null if nothing is being captured.
+     */
+    private LevelSnapshot capture;
 
     /**
      * The player paddle's entity id.
      */
     private int paddleId = -1;
 
+    /**
+     * The starting ball's entity id.
+     */
+    private int startingBallId = -1;
+
     // Package-private constructor since dagger injects the dependencies.
     @Inject
     EntitySpawner(
         World world,
         AssetMap assets,
-        GameOverSystem playerHealthSystem,
+        FixedTimestepInvocationStrategy strategy,
+        BrickSystem brickSystem,
+        BallPool ballPool,
+        RandomXS128 random,
         @Named("paddleVelocity") float paddleVelocity,
         @Named("paddleSpawnX") float paddleSpawnX,
         @Named("paddleSpawnY") float paddleSpawnY,
@@ -57,10 +129,14 @@ public final class EntitySpawner {
         @Named("ballSpawnVelocity") float ballSpawnVelocity,
         @Named("startingBallSpawnX") float startingBallSpawnX,
         @Named("startingBallSpawnY") float startingBallSpawnY,
-        @Named("spawnBallChance") float spawnBallChance
+        @Named("collisionCooldownTicks") int collisionCooldownTicks
     ) {
         this.world = world;
         this.assets = assets;
+        this.strategy = strategy;
+        this.brickSystem = brickSystem;
+        this.ballPool = ballPool;
+        this.random = random;
         this.brickSize = brickSize;
         this.ballSize = ballSize;
         this.ballVelocity = ballVelocity;
@@ -72,22 +148,74 @@ public final class EntitySpawner {
         this.paddleHeight = paddleHeight;
         this.startingBallSpawnX = startingBallSpawnX;
         this.startingBallSpawnY = startingBallSpawnY;
-        this.spawnBallChance = spawnBallChance;
+        this.collisionCooldownTicks = collisionCooldownTicks;
+
+        brickArchetype = new ArchetypeBuilder()
+            .add(SpawnOrder.class, Position.class, Size.class, Sprite.class, ImpactSound.class)
+            .add(Hitpoints.class, Brick.class, Collidable.class, Target.class)
+            .build(world);
+        indestructibleBrickArchetype = new ArchetypeBuilder()
+            .add(SpawnOrder.class, Position.class, Size.class, Sprite.class, ImpactSound.class, Collidable.class)
+            .build(world);
+        borderArchetype = new ArchetypeBuilder()
+            .add(SpawnOrder.class, Position.class, Size.class, ImpactSound.class, Collidable.class)
+            .build(world);
+        // The paddle's collision listener is only set while the starting ball is attached to it.
+        paddleArchetype = new ArchetypeBuilder()
+            .add(SpawnOrder.class, Position.class, LinearVelocity.class, Size.class, Sprite.class, Collider.class)
+            .add(ImpactSound.class, CollisionListener.class, InputListener.class, Collidable.class)
+            .build(world);
+        startingBallArchetype = new ArchetypeBuilder()
+            .add(SpawnOrder.class, Position.class, LinearVelocity.class, Size.class, Sprite.class, InputListener.class)
+            .add(Despawnable.class, PlayerHealth.class)
+            .build(world);
+        droppingBallArchetype = new ArchetypeBuilder()
+            .add(SpawnOrder.class, Position.class, LinearVelocity.class, Size.class, Sprite.class, Collider.class)
+            .add(CollisionListener.class, Despawnable.class, PlayerHealth.class)
+            .build(world);
+
+        brickParkTransmuter = new EntityTransmuterFactory(world)
+            .remove(Position.class)
+            .remove(Target.class)
+            .build();
+        brickUnparkTransmuter = new EntityTransmuterFactory(world)
+            .add(Position.class)
+            .add(Target.class)
+            .build();
+
+        spawnOrders = world.getMapper(SpawnOrder.class);
+        positions = world.getMapper(Position.class);
+        velocities = world.getMapper(LinearVelocity.class);
+        sizes = world.getMapper(Size.class);
+        sprites = world.getMapper(Sprite.class);
+        colliders = world.getMapper(Collider.class);
+        impactSounds = world.getMapper(ImpactSound.class);
+        collisionListeners = world.getMapper(CollisionListener.class);
+        inputListeners = world.getMapper(InputListener.class);
+        hitpointsMapper = world.getMapper(Hitpoints.class);
+        bricks = world.getMapper(Brick.class);
+        despawnables = world.getMapper(Despawnable.class);
     }
 
     /**
-     * Handles the player's input by reacting to the left/right arrow keys.
-     * @param keysPressed All keys pressed.
-     * @param velocity The linear velocity object to modify.
+     * Mark the entity as the latest one spawned. Re-used balls count as freshly spawned.
      */
-    private void handlePlayerInput(IntSet keysPressed, LinearVelocity velocity) {
-        var leftPressed = keysPressed.contains(Input.Keys.LEFT);
-        var rightPressed = keysPressed.contains(Input.Keys.RIGHT);
-        if (leftPressed == rightPressed) {
-            velocity.x = 0;
-        } else {
-            velocity.x = leftPressed ? -paddleVelocity : paddleVelocity;
-        }
+    private void setSpawnOrder(int entityId) {
+        spawnOrders.get(entityId).value = nextSpawnOrder++;
+    }
+
+    /**
+     * Play the sound, unless it isn't loaded (when running headless).
+     */
+    private void playSound(Sound sound) {
+        if (sound != null) sound.play();
+    }
+
+    /**
+     * A random number between start (inclusive) and end (exclusive), from the simulation's random number generator.
+     */
+    private float random(float start, float end) {
+        return start + random.nextFloat() * (end - start);
     }
 
     /**
@@ -95,7 +223,7 @@ public final class EntitySpawner {
      * @param velocity The linear velocity object to modify.
      */
     private void launchBall(LinearVelocity velocity) {
-        var angle = MathUtils.random(
+        var angle = random(
             (float) Math.toRadians(10),
             (float) Math.toRadians(170)
         );
@@ -109,48 +237,63 @@ public final class EntitySpawner {
      * which then becomes a "regular" ball that bounces around.
      * <p />
      * These balls count towards keeping the player alive.
+     * A despawned ball is re-used from the ball pool if there is one.
      */
     public void spawnDroppingBall(float x, float y) {
-        var entityId = world.create();
-        var position = world.edit(entityId).create(Position.class);
-        var velocity = world.edit(entityId).create(LinearVelocity.class);
-        var size = world.edit(entityId).create(Size.class);
-        var sprite = world.edit(entityId).create(Sprite.class);
-        var collider = world.edit(entityId).create(Collider.class);
-        var collisionListener = world.edit(entityId).create(CollisionListener.class);
-        world.edit(entityId).create(Despawnable.class);
-        world.edit(entityId).create(PlayerHealth.class);
+        var entityId = ballPool.obtain();
+        if (entityId < 0) entityId = world.create(droppingBallArchetype);
+        setSpawnOrder(entityId);
 
+        // Every component is set up again, since a re-used ball still has everything it despawned with.
+        var position = positions.get(entityId);
         position.current.set(x, y);
         position.previous.set(position.current);
-        size.set(ballSize, ballSize);
-        sprite.texture = assets.getBallTexture();
+        sizes.get(entityId).set(ballSize, ballSize);
+        sprites.get(entityId).texture = assets.getBallTexture();
+        velocities.get(entityId).set(0f, -ballSpawnVelocity);
+
+        var collider = colliders.get(entityId);
         collider.ghosted = true;
         collider.bounce = false;
         collider.playImpactSound = false;
 
-        velocity.x = 0;
-        velocity.y = -ballSpawnVelocity;
-
-        assets.getBallSpawnSound().play();
+        var collisionListener = collisionListeners.get(entityId);
+        collisionListener.listener = droppingBallListener;
+        collisionListener.lastCollisionTick = Integer.MIN_VALUE / 2;
 
-        collisionListener.listener = (var colliderId, var collidableId) -> {
-            // If the ball collided with the paddle.
-            if (collidableId == paddleId) {
-                // Make the ball able to collide with other entities.
-                collider.ghosted = false;
-                collider.bounce = true;
-                collider.playImpactSound = true;
+        var despawnable = despawnables.get(entityId);
+        despawnable.onDespawn = null;
+        despawnable.pooled = true;
 
-                // Launch the ball in an upwards direction.
-                launchBall(velocity);
+        // Only play the sound once per burst of balls.
+        var tick = strategy.getTick();
+        if (tick - lastBallSpawnSoundTick > collisionCooldownTicks) {
+            lastBallSpawnSoundTick = tick;
+            playSound(assets.getBallSpawnSound());
+        }
+    }
 
-                // Force move the ball above the paddle to prevent it from getting
-                // stuck inside the paddle.
-                var paddlePosition = world.getMapper(Position.class).get(paddleId);
-                position.current.y = paddlePosition.current.y + size.height;
-            }
-        };
+    /**
+     * Runs when a dropping ball collides into an entity. Every dropping ball shares this listener,
+     * so spawning one doesn't need to allocate a new one.
+     */
+    private void catchDroppingBall(int ballId, int collidableId) {
+        // If the ball collided with the paddle.
+        if (collidableId == paddleId) {
+            // Make the ball able to collide with other entities.
+            var collider = colliders.get(ballId);
+            collider.ghosted = false;
+            collider.bounce = true;
+            collider.playImpactSound = true;
+
+            // Launch the ball in an upwards direction.
+            launchBall(velocities.get(ballId));
+
+            // Force move the ball above the paddle to prevent it from getting
+            // stuck inside the paddle.
+            var paddlePosition = positions.get(paddleId);
+            positions.get(ballId).current.y = paddlePosition.current.y + sizes.get(ballId).height;
+        }
     }
 
     /**
@@ -161,93 +304,79 @@ public final class EntitySpawner {
         // The starting ball can only be spawned after the paddle has been spawned.
         if (paddleId < 0) throw new RuntimeException("Paddle has not been initialized yet.");
 
-        var entityId = world.create();
-        var position = world.edit(entityId).create(Position.class);
-        var velocity = world.edit(entityId).create(LinearVelocity.class);
-        var size = world.edit(entityId).create(Size.class);
-        var sprite = world.edit(entityId).create(Sprite.class);
-        var inputListener = world.edit(entityId).create(InputListener.class);
-        world.edit(entityId).create(Despawnable.class);
-        world.edit(entityId).create(PlayerHealth.class);
+        var entityId = world.create(startingBallArchetype);
+        startingBallId = entityId;
+        setSpawnOrder(entityId);
+        var position = positions.get(entityId);
+        var inputListener = inputListeners.get(entityId);
 
         position.current.x = startingBallSpawnX;
         position.current.y = startingBallSpawnY;
         position.previous.set(position.current);
-        velocity.setZero();
-        size.set(ballSize, ballSize);
-        sprite.texture = assets.getBallTexture();
+        velocities.get(entityId).setZero();
+        sizes.get(entityId).set(ballSize, ballSize);
+        sprites.get(entityId).texture = assets.getBallTexture();
 
         // Keep the ball centered on the paddle if the paddle colliders into a world border.
-        var paddleCollisionListener = world.edit(paddleId).create(CollisionListener.class);
-        paddleCollisionListener.listener = (var colliderId, var collidableId) -> {
-            var paddlePosition = world.getMapper(Position.class).get(paddleId);
-            var paddleSize = world.getMapper(Size.class).get(paddleId);
-
-            // We don't want the ball to continue moving if the paddle is unable to move due to a
-            // world border or other collidable entity.
-            velocity.setZero();
-
-            // Center the ball.
-            position.current.x = paddlePosition.current.x + paddleSize.width / 2f - ballSize / 2f;
-            position.previous.set(position.current);
-        };
-
-        // Move the starting ball left/right using the arrow keys.
-        var keysPressed = new IntSet();
-        inputListener.processor = new InputAdapter() {
-            @Override
-            public boolean keyDown(int keycode) {
-                keysPressed.add(keycode);
-                handlePlayerInput(keysPressed, velocity);
-
-                // Launch the ball.
-                if (keycode == Input.Keys.SPACE) {
-                    launchBall(velocity);
-                    assets.getBallSpawnSound().play();
-
-                    world.edit(entityId).remove(InputListener.class);
-
-                    // Remove the CollisionListener since it's for centering the ball
-                    // when colliding with the paddle.
-                    paddleCollisionListener.listener = null;
-                    world.edit(entityId).remove(CollisionListener.class);
-
-                    // Make the ball a collider that bounces.
-                    var collider = world.edit(entityId).create(Collider.class);
-                    collider.ghosted = false;
-                    collider.bounce = true;
-                    collider.playImpactSound = true;
-                }
+        collisionListeners.get(paddleId).listener = paddleListener;
 
-                return false;
-            }
+        // Move the starting ball left/right using the arrow keys, and launch it using space.
+        inputListener.speed = paddleVelocity;
+        inputListener.launchable = true;
+    }
 
-            @Override
-            public boolean keyUp(int keycode) {
-                // If key hasn't been pressed yet, we don't want to affect the velocity.
-                if (!keysPressed.contains(keycode)) return false;
-                keysPressed.remove(keycode);
-                handlePlayerInput(keysPressed, velocity);
-                return false;
-            }
-        };
+    /**
+     * Runs when the paddle collides into an entity while the starting ball is attached to it.
+     */
+    private void centerStartingBall(int colliderId, int collidableId) {
+        var paddlePosition = positions.get(paddleId);
+        var paddleSize = sizes.get(paddleId);
+
+        // We don't want the ball to continue moving if the paddle is unable to move due to a
+        // world border or other collidable entity.
+        velocities.get(startingBallId).setZero();
+
+        // Center the ball.
+        var position = positions.get(startingBallId);
+        position.current.x = paddlePosition.current.x + paddleSize.width / 2f - ballSize / 2f;
+        position.previous.set(position.current);
+    }
+
+    /**
+     * Launch the starting ball off the paddle. Called by the input system when space is pressed.
+     */
+    public void launchStartingBall(int entityId) {
+        launchBall(velocities.get(entityId));
+        playSound(assets.getBallSpawnSound());
+
+        // Clear the paddle's collision listener since it's for centering the ball
+        // when colliding with the paddle.
+        collisionListeners.get(paddleId).listener = null;
+
+        // Stop listening for input, and make the ball a collider that bounces.
+        // This changes the ball's composition, but it only happens once per level.
+        var edit = world.edit(entityId);
+        edit.remove(InputListener.class);
+        var collider = edit.create(Collider.class);
+        collider.ghosted = false;
+        collider.bounce = true;
+        collider.playImpactSound = true;
     }
 
     /**
      * Spawn the player paddle, which can be controlled using the left/right arrow keys.
      */
     public void spawnPaddle() {
-        var entityId = world.create();
+        var entityId = world.create(paddleArchetype);
         paddleId = entityId;
-        var position = world.edit(entityId).create(Position.class);
-        var size = world.edit(entityId).create(Size.class);
-        var sprite = world.edit(entityId).create(Sprite.class);
-        var collider = world.edit(entityId).create(Collider.class);
-        var impactSound = world.edit(entityId).create(ImpactSound.class);
-        var inputListener = world.edit(entityId).create(InputListener.class);
-        var velocity = world.edit(entityId).create(LinearVelocity.class);
-
-        world.edit(entityId).create(Collidable.class);
+        setSpawnOrder(entityId);
+        var position = positions.get(entityId);
+        var size = sizes.get(entityId);
+        var sprite = sprites.get(entityId);
+        var collider = colliders.get(entityId);
+        var impactSound = impactSounds.get(entityId);
+        var inputListener = inputListeners.get(entityId);
+        var velocity = velocities.get(entityId);
 
         position.current.x = paddleSpawnX;
         position.current.y = paddleSpawnY;
@@ -263,48 +392,26 @@ public final class EntitySpawner {
         collider.playImpactSound = false;
 
         impactSound.sound = assets.getSoftBounceSound();
-        impactSound.lastPlayedTime = 0f;
 
         // Move the paddle left and right using the arrow keys.
-        // Its velocity is multiplied by "PASSES" as a workaround for a bug with
-        // MovementCollisionSystem, where collidable entities move slower by a factor
-        // of "PASSES."
-        var keysPressed = new IntSet();
-        inputListener.processor = new InputAdapter() {
-            @Override
-            public boolean keyDown(int keycode) {
-                keysPressed.add(keycode);
-                handlePlayerInput(keysPressed, velocity);
-                return false;
-            }
-
-            @Override
-            public boolean keyUp(int keycode) {
-                // If key hasn't been pressed yet, we don't want to affect the velocity.
-                if (!keysPressed.contains(keycode)) return false;
-                keysPressed.remove(keycode);
-                handlePlayerInput(keysPressed, velocity);
-                return false;
-            }
-        };
+        inputListener.speed = paddleVelocity;
+        inputListener.launchable = false;
     }
 
     /**
      * Spawns an invisible border that cannot be collided through.
      */
     public void spawnInvisibleBorder(float x, float y, float width, float height) {
-        var entityId = world.create();
-        var position = world.edit(entityId).create(Position.class);
-        var size = world.edit(entityId).create(Size.class);
-        var impactSound = world.edit(entityId).create(ImpactSound.class);
-        world.edit(entityId).create(Collidable.class);
-
+        var entityId = world.create(borderArchetype);
+        setSpawnOrder(entityId);
+        var position = positions.get(entityId);
         position.current.set(x, y);
         position.previous.set(position.current);
-        size.set(width, height);
+        sizes.get(entityId).set(width, height);
 
-        impactSound.sound = assets.getSoftBounceSound();
-        impactSound.lastPlayedTime = 0f;
+        impactSounds.get(entityId).sound = assets.getSoftBounceSound();
+
+        if (capture != null) capture.addBorder(entityId);
     }
 
     /**
@@ -316,87 +423,117 @@ public final class EntitySpawner {
 
     /**
      * Spawns a brick.
+     * @param startHitpoints The brick's hit points, or -1 for an indestructible brick.
      */
     public void spawnBrick(float x, float y, int startHitpoints) {
-        var entityId = world.create();
-        var position = world.edit(entityId).create(Position.class);
-        var size = world.edit(entityId).create(Size.class);
-        var sprite = world.edit(entityId).create(Sprite.class);
-        var impactSound = world.edit(entityId).create(ImpactSound.class);
-        var collisionListener = world.edit(entityId).create(CollisionListener.class);
-        var hitpoints = world.edit(entityId).create(Hitpoints.class);
-        world.edit(entityId).create(Collidable.class);
-
+        var entityId = createBrick(x, y, startHitpoints);
         if (startHitpoints > 0) {
-            world.edit(entityId).create(Target.class);
+            sprites.get(entityId).texture = brickSystem.getTexture(bricks.get(entityId), startHitpoints);
+            impactSounds.get(entityId).sound = assets.getSoftBounceSound();
+        } else {
+            sprites.get(entityId).texture = assets.getGreyBrickTexture();
+            impactSounds.get(entityId).sound = assets.getHardBounceSound();
         }
+        if (capture != null) capture.addBrick(entityId, x, y, startHitpoints);
+    }
 
+    /**
+     * Spawns many bricks in one pass, for spawning a whole level at once.
+     * The bricks end up the same as calling {@link #spawnBrick(float, float, int)} for each one, but the sounds
+     * and textures are looked up once for the whole batch instead of once per brick.
+     * @param xs The x position of every brick.
+     * @param ys The y position of every brick.
+     * @param startHitpoints The hit points of every brick, or -1 for an indestructible brick.
+     * @param count The number of bricks to spawn, from the start of the arrays.
+     */
+    public void spawnBricks(float[] xs, float[] ys, int[] startHitpoints, int count) {
+        var softBounceSound = assets.getSoftBounceSound();
+        var hardBounceSound = assets.getHardBounceSound();
+        var greyBrickTexture = assets.getGreyBrickTexture();
+
+        // A freshly spawned brick's texture only depends on the hit points it starts with, and levels are
+        // mostly rows of the same bricks. So the texture is only looked up again once the hit points change.
+        var textureHitpoints = 0;
+        Texture texture = null;
+
+        for (var i = 0; i < count; i++) {
+            var x = xs[i];
+            var y = ys[i];
+            var hitpoints = startHitpoints[i];
+            var entityId = createBrick(x, y, hitpoints);
+            if (hitpoints > 0) {
+                if (hitpoints != textureHitpoints) {
+                    texture = brickSystem.getTexture(bricks.get(entityId), hitpoints);
+                    textureHitpoints = hitpoints;
+                }
+                sprites.get(entityId).texture = texture;
+                impactSounds.get(entityId).sound = softBounceSound;
+            } else {
+                sprites.get(entityId).texture = greyBrickTexture;
+                impactSounds.get(entityId).sound = hardBounceSound;
+            }
+            if (capture != null) capture.addBrick(entityId, x, y, hitpoints);
+        }
+    }
+
+    /**
+     * Create a brick with everything besides its texture and impact sound, which are left to the caller.
+     */
+    private int createBrick(float x, float y, int startHitpoints) {
+        var entityId = world.create(startHitpoints > 0 ? brickArchetype : indestructibleBrickArchetype);
+        setSpawnOrder(entityId);
+        var position = positions.get(entityId);
         position.current.set(x, y);
-        position.previous.set(position.current);
+        position.previous.set(x, y);
+        sizes.get(entityId).set(brickSize, brickSize);
 
-        size.set(brickSize, brickSize);
-
-        // If brick has 3+ hp, start as a green brick.
-        if (startHitpoints > 2) {
-            sprite.texture = assets.getGreenBrickTexture();
-        } else if (startHitpoints == 2) {
-            sprite.texture = assets.getYellowBrickTexture();
-        } else if (startHitpoints == 1) {
-            sprite.texture = assets.getRedBrickTexture();
-        } else if (startHitpoints < 0) {
-            sprite.texture = assets.getGreyBrickTexture();
+        // Indestructible bricks only block colliders. Hits on the rest are handled by the brick system.
+        if (startHitpoints > 0) {
+            var hitpoints = hitpointsMapper.get(entityId);
+            hitpoints.value = startHitpoints;
+            hitpoints.start = startHitpoints;
+            brickSystem.setThresholds(bricks.get(entityId), startHitpoints);
         }
+        return entityId;
+    }
 
-        impactSound.sound =
-            startHitpoints < 0
-                ? assets.getHardBounceSound()
-                : assets.getSoftBounceSound();
-        impactSound.lastPlayedTime = 0f;
-
-        hitpoints.value = startHitpoints;
-
-        // Listen for entities that collided into the brick.
-        collisionListener.listener = (var colliderId, var brickId) -> {
-            // Only allow the brick to be "hit" on a 0.1f cooldown,
-            // to prevent it from constantly being triggered every render frame if
-            // the ball is still triggering collisions.
-            var currentTime = System.nanoTime();
-            var timeSinceLastHit = (currentTime - hitpoints.lastHitTime) / 1_000_000_000f;
-            if (hitpoints.value > 0 && timeSinceLastHit > 0.1f) {
-                // Remove 1 health point from the brick.
-                hitpoints.value -= 1;
-                impactSound.lastPlayedTime = currentTime;
-
-                // Spawn a dropping ball at the specified chance.
-                if (MathUtils.random() < spawnBallChance) {
-                    spawnDroppingBall(
-                        MathUtils.random(position.current.x, position.current.x + size.width),
-                        MathUtils.random(position.current.y, position.current.y + size.height)
-                    );
-                }
+    /**
+     * Park a brick that ran out of hit points, instead of deleting it. Called by the brick system.
+     * Every other component is left as it was, so retrying the level only needs to add its position back.
+     */
+    public void destroyBrick(int entityId) {
+        brickParkTransmuter.transmute(entityId);
+    }
 
-                // If the starting hit points is > 3, it will start as a green brick.
-                if (startHitpoints > 3) {
-                    // Remaining hp as a percentage, from 0f to 1f;
-                    var remainingHitpoints = (float) hitpoints.value / (float) startHitpoints;
-                    if (remainingHitpoints > 0.6f) sprite.texture = assets.getGreenBrickTexture();
-                    else if (remainingHitpoints > 0.3f) sprite.texture = assets.getYellowBrickTexture();
-                    else sprite.texture = assets.getRedBrickTexture();
-                }
-                // If the starting hit poitns is 2, it will start as a yellow brick.
-                else if (hitpoints.value == 2) {
-                    sprite.texture = assets.getYellowBrickTexture();
-                }
-                // If the starting hit poitns is 1, it will start as a red brick.
-                else if (hitpoints.value == 1) {
-                    sprite.texture = assets.getRedBrickTexture();
-                }
-            }
+    /**
+     * Start capturing every border and brick spawned into the snapshot, until {@link #stopCapture()} is called.
+     */
+    public void startCapture(LevelSnapshot snapshot) {
+        capture = snapshot;
+    }
 
-            // The brick is fully destroyed. Delete the entity.
-            if (hitpoints.value == 0) {
-                world.delete(brickId);
+    public void stopCapture() {
+        capture = null;
+    }
+
+    /**
+     * Reset the snapshot's bricks to how they were spawned, for retrying the level.
+     * Destroyed bricks get their position back, and every brick gets back the hit points it started with.
+     * The borders and bricks keep their spawn order, so they still move before the paddle and balls spawned after.
+     */
+    public void restore(LevelSnapshot snapshot) {
+        for (var i = 0; i < snapshot.brickIds.size; i++) {
+            var entityId = snapshot.brickIds.get(i);
+            var hitpoints = hitpointsMapper.get(entityId);
+            if (hitpoints.value <= 0) {
+                brickUnparkTransmuter.transmute(entityId);
+                var position = positions.get(entityId);
+                position.current.set(snapshot.brickX.get(i), snapshot.brickY.get(i));
+                position.previous.set(position.current);
             }
-        };
+            hitpoints.value = hitpoints.start;
+            hitpoints.lastHitTick = Integer.MIN_VALUE / 2;
+            sprites.get(entityId).texture = brickSystem.getTexture(bricks.get(entityId), hitpoints.start);
+        }
     }
 }
@@ -0,0 +1,25 @@
+package io.github.qwbarch.entity.component;
+
+import com.artemis.PooledComponent;
+
+/**
+ * A breakable brick, which loses hit points when collided into and changes colour as it does.
+ * Collisions with bricks are handled by the BrickSystem, using only the data stored here and in {@link Hitpoints}.
+ */
+public final class Brick extends PooledComponent {
+    /**
+     * The brick turns yellow once its hit points drop to this amount.
+     */
+    public int yellowThreshold;
+
+    /**
+     * The brick turns red once its hit points drop to this amount.
+     */
+    public int redThreshold;
+
+    @Override
+    protected void reset() {
+        yellowThreshold = 0;
+        redThreshold = 0;
+    }
+}
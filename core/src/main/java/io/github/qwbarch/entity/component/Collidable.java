@@ -1,7 +1,6 @@
 package io.github.qwbarch.entity.component;
 
-import com.artemis.Component;
-import com.artemis.annotations.PooledWeaver;
+import com.artemis.PooledComponent;
 
 /**
  * An entity that can be collided into.
@@ -10,5 +9,9 @@ import com.artemis.annotations.PooledWeaver;
  * <br />
  * For example if a bullet collides into a wall, it will be moved back to the outside of the wall.
  */
-@PooledWeaver
-public final class Collidable extends Component { }
+public final class Collidable extends PooledComponent {
+    @Override
+    protected void reset() {
+        // Nothing to reset, since this only marks the entity.
+    }
+}
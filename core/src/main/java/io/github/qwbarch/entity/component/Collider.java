@@ -1,7 +1,6 @@
 package io.github.qwbarch.entity.component;
 
-import com.artemis.Component;
-import com.artemis.annotations.PooledWeaver;
+import com.artemis.PooledComponent;
 
 /**
  * An entity that can collide into "Collidable" entities.
@@ -11,8 +10,7 @@ import com.artemis.annotations.PooledWeaver;
  * <br />
  * For example if a bullet collides into a wall, it will be moved back to the outside of the wall.
  */
-@PooledWeaver
-public final class Collider extends Component {
+public final class Collider extends PooledComponent {
     /**
      * If true, the entity is ghosted and can move through entities. Collision listeners will still trigger.
      * If false, the entity cannot move through entities.
@@ -30,4 +28,11 @@ public final class Collider extends Component {
      * If false, will not play any sounds on impact.
      */
     public boolean playImpactSound;
+
+    @Override
+    protected void reset() {
+        ghosted = false;
+        bounce = false;
+        playImpactSound = false;
+    }
 }
@@ -1,13 +1,11 @@
 package io.github.qwbarch.entity.component;
 
-import com.artemis.Component;
-import com.artemis.annotations.PooledWeaver;
+import com.artemis.PooledComponent;
 
 /**
  * Allows an entity to react to arbitrary collisions.
  */
-@PooledWeaver
-public final class CollisionListener extends Component {
+public final class CollisionListener extends PooledComponent {
     @FunctionalInterface
     public interface CollisionListenerFunction {
         /**
@@ -24,7 +22,14 @@ public final class CollisionListener extends Component {
     public CollisionListenerFunction listener;
 
     /**
-     * Timestamp of when the entity last collided with another entity.
+     * The game tick the entity last collided with another entity in.
+     * Defaults to far enough in the past for the listener to run right away.
      */
-    public float lastCollisionTime;
+    public int lastCollisionTick = Integer.MIN_VALUE / 2;
+
+    @Override
+    protected void reset() {
+        listener = null;
+        lastCollisionTick = Integer.MIN_VALUE / 2;
+    }
 }
@@ -1,15 +1,24 @@
 package io.github.qwbarch.entity.component;
 
-import com.artemis.Component;
-import com.artemis.annotations.PooledWeaver;
+import com.artemis.PooledComponent;
 
 /**
  * An entity that can be despawned.
  */
-@PooledWeaver
-public final class Despawnable extends Component {
+public final class Despawnable extends PooledComponent {
     /**
      * A function that runs when the entity is attempting to despawn.
      */
     public Runnable onDespawn;
+
+    /**
+     * If true, the entity is handed back to the ball pool instead of being deleted.
+     */
+    public boolean pooled;
+
+    @Override
+    protected void reset() {
+        onDespawn = null;
+        pooled = false;
+    }
 }
@@ -1,20 +1,31 @@
 package io.github.qwbarch.entity.component;
 
-import com.artemis.Component;
-import com.artemis.annotations.PooledWeaver;
+import com.artemis.PooledComponent;
 
 /**
  * An entity with its own hit points. If it reaches 0, it is destroyed.
  */
-@PooledWeaver
-public final class Hitpoints extends Component {
+public final class Hitpoints extends PooledComponent {
     /**
      * The amount of hit points the entity has.
      */
     public int value;
 
     /**
-     * The timestamp of when the entity was last hit.
+     * The amount of hit points the entity started with.
      */
-    public float lastHitTime;
+    public int start;
+
+    /**
+     * The game tick the entity was last hit in.
+     * Defaults to far enough in the past for the entity to be hit right away.
+     */
+    public int lastHitTick = Integer.MIN_VALUE / 2;
+
+    @Override
+    protected void reset() {
+        value = 0;
+        start = 0;
+        lastHitTick = Integer.MIN_VALUE / 2;
+    }
 }
@@ -1,21 +1,26 @@
 package io.github.qwbarch.entity.component;
 
-import com.artemis.Component;
-import com.artemis.annotations.PooledWeaver;
+import com.artemis.PooledComponent;
 import com.badlogic.gdx.audio.Sound;
 
 /**
  * An entity that plays a sound on collision impact, currently for "Collidable" entities only.
  */
-@PooledWeaver
-public final class ImpactSound extends Component {
+public final class ImpactSound extends PooledComponent {
     /**
      * The sound to play when the
      */
     public Sound sound;
 
     /**
-     * A timestamp of when the sound was last played.
+     * The game tick the sound was last played in.
+     * Defaults to far enough in the past for the sound to be played right away.
      */
-    public float lastPlayedTime;
+    public int lastPlayedTick = Integer.MIN_VALUE / 2;
+
+    @Override
+    protected void reset() {
+        sound = null;
+        lastPlayedTick = Integer.MIN_VALUE / 2;
+    }
 }
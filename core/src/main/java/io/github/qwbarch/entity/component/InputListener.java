@@ -1,13 +1,35 @@
 package io.github.qwbarch.entity.component;
 
-import com.artemis.Component;
-import com.artemis.annotations.PooledWeaver;
-import com.badlogic.gdx.InputProcessor;
+import com.artemis.PooledComponent;
 
 /**
  * An entity that is able to react to user inputs.
+ * The entity moves left/right while the arrow keys are held down, and can optionally be launched using space.
+ * Input is handled by the InputSystem, using only the data stored here.
  */
-@PooledWeaver
-public final class InputListener extends Component {
-    public InputProcessor processor;
+public final class InputListener extends PooledComponent {
+    /**
+     * Whether or not the left/right arrow keys are held down. Only keys pressed since the entity started
+     * listening count.
+     */
+    public boolean leftPressed;
+    public boolean rightPressed;
+
+    /**
+     * How fast the entity moves left/right while an arrow key is held down.
+     */
+    public float speed;
+
+    /**
+     * Whether or not pressing space launches the entity (the starting ball is launched off the paddle).
+     */
+    public boolean launchable;
+
+    @Override
+    protected void reset() {
+        leftPressed = false;
+        rightPressed = false;
+        speed = 0f;
+        launchable = false;
+    }
 }
@@ -1,13 +1,11 @@
 package io.github.qwbarch.entity.component;
 
-import com.artemis.Component;
-import com.artemis.annotations.PooledWeaver;
+import com.artemis.PooledComponent;
 
 /**
  * A component representing an entity's linear velocity amongst the x and y axis.
  */
-@PooledWeaver
-public final class LinearVelocity extends Component {
+public final class LinearVelocity extends PooledComponent {
     public float x = 0f;
     public float y = 0f;
 
@@ -33,4 +31,9 @@ public final class LinearVelocity extends Component {
         y = -y;
         return this;
     }
+
+    @Override
+    protected void reset() {
+        setZero();
+    }
 }
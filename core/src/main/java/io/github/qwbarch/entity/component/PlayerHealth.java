@@ -1,11 +1,14 @@
 package io.github.qwbarch.entity.component;
 
-import com.artemis.Component;
-import com.artemis.annotations.PooledWeaver;
+import com.artemis.PooledComponent;
 
 /**
  * An entity that counts towards the player's alive status.
  * When all entities with this component is destroyed, the player loses the game.
  */
-@PooledWeaver
-public final class PlayerHealth extends Component { }
+public final class PlayerHealth extends PooledComponent {
+    @Override
+    protected void reset() {
+        // Nothing to reset, since this only marks the entity.
+    }
+}
@@ -1,13 +1,11 @@
 package io.github.qwbarch.entity.component;
 
-import com.artemis.Component;
-import com.artemis.annotations.PooledWeaver;
+import com.artemis.PooledComponent;
 
 /**
  * An entity with a width and a height.
  */
-@PooledWeaver
-public final class Size extends Component {
+public final class Size extends PooledComponent {
     public float width = 0f;
     public float height = 0f;
 
@@ -16,4 +14,10 @@ public final class Size extends Component {
         this.height = height;
         return this;
     }
+
+    @Override
+    protected void reset() {
+        width = 0f;
+        height = 0f;
+    }
 }
@@ -0,0 +1,22 @@
+package io.github.qwbarch.entity.component;
+
+import com.artemis.PooledComponent;
+
+/**
+ * When the entity was spawned, relative to every other entity.
+ * <p/>
+ * Entity ids are re-used once entities are deleted, so the same level can hand out completely different ids
+ * depending on what was played before it. Anything where the order matters (like which entity moves first)
+ * goes by this instead, so a level plays out the same no matter which ids its entities ended up with.
+ */
+public final class SpawnOrder extends PooledComponent {
+    /**
+     * Entities spawned later have a larger value.
+     */
+    public int value;
+
+    @Override
+    protected void reset() {
+        value = 0;
+    }
+}
@@ -1,13 +1,16 @@
 package io.github.qwbarch.entity.component;
 
-import com.artemis.Component;
-import com.artemis.annotations.PooledWeaver;
+import com.artemis.PooledComponent;
 import com.badlogic.gdx.graphics.Texture;
 
 /**
  * A component with a drawable sprite. The held texture can be null.
  */
-@PooledWeaver
-public final class Sprite extends Component {
+public final class Sprite extends PooledComponent {
     public Texture texture;
+
+    @Override
+    protected void reset() {
+        texture = null;
+    }
 }
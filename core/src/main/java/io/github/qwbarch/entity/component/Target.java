@@ -1,11 +1,14 @@
 package io.github.qwbarch.entity.component;
 
-import com.artemis.Component;
-import com.artemis.annotations.PooledWeaver;
+import com.artemis.PooledComponent;
 
 /**
  * An entity with this component is marked as an objective target.
  * All "target" entities need to be destroyed for the player to win the game.
  */
-@PooledWeaver
-public final class Target extends Component { }
+public final class Target extends PooledComponent {
+    @Override
+    protected void reset() {
+        // Nothing to reset, since this only marks the entity.
+    }
+}
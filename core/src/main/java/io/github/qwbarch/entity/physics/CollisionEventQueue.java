@@ -0,0 +1,93 @@
+package io.github.qwbarch.entity.physics;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.Arrays;
+
+/**
+ * Collisions that happened during the current game tick, in the order they happened in.
+ * <p/>
+ * Every event is packed into a single int array (collider id, collidable id, side, tick) so that recording
+ * a collision never allocates. The array is allocated up front and only grows if a tick has more collisions
+ * than it can hold.
+ * <p/>
+ * This is a singleton, so one instance is used for the entire game.
+ */
+@Singleton
+public final class CollisionEventQueue {
+    /**
+     * The side of the collidable entity that was collided into.
+     * Ghosted colliders pass through entities, so they don't collide into any side.
+     */
+    public static final int SIDE_NONE = 0;
+    public static final int SIDE_LEFT = 1;
+    public static final int SIDE_RIGHT = 2;
+    public static final int SIDE_BOTTOM = 3;
+    public static final int SIDE_TOP = 4;
+
+    /**
+     * The number of events the queue can hold before it needs to grow.
+     */
+    private static final int INITIAL_CAPACITY = 256;
+
+    /**
+     * The number of ints used by a single event.
+     */
+    private static final int STRIDE = 4;
+
+    private int[] events = new int[INITIAL_CAPACITY * STRIDE];
+    private int size = 0;
+
+    // Package-private constructor since dagger injects the dependencies.
+    @Inject
+    CollisionEventQueue() {}
+
+    /**
+     * Record a collision.
+     * @param colliderId The entity colliding into the collidable entity.
+     * @param collidableId The entity getting collided into.
+     * @param side The side of the collidable entity that was collided into.
+     * @param tick The game tick the collision happened in.
+     */
+    public void add(int colliderId, int collidableId, int side, int tick) {
+        var index = size * STRIDE;
+        if (index == events.length) {
+            events = Arrays.copyOf(events, events.length * 2);
+        }
+        events[index] = colliderId;
+        events[index + 1] = collidableId;
+        events[index + 2] = side;
+        events[index + 3] = tick;
+        size++;
+    }
+
+    /**
+     * The number of collisions recorded.
+     */
+    public int size() {
+        return size;
+    }
+
+    public int getColliderId(int event) {
+        return events[event * STRIDE];
+    }
+
+    public int getCollidableId(int event) {
+        return events[event * STRIDE + 1];
+    }
+
+    public int getSide(int event) {
+        return events[event * STRIDE + 2];
+    }
+
+    public int getTick(int event) {
+        return events[event * STRIDE + 3];
+    }
+
+    /**
+     * Forget every recorded collision. The array is kept around for the next game tick.
+     */
+    public void clear() {
+        size = 0;
+    }
+}
@@ -0,0 +1,56 @@
+package io.github.qwbarch.entity.physics;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.Arrays;
+
+/**
+ * Despawnable entities that left the world during the current game tick, in the order they were moved in.
+ * <p/>
+ * The movement step already touches every moving entity's position, so it checks whether the entity fell out of
+ * the world while it's at it. Handling the despawns then only costs as much as the entities actually leaving.
+ * <p/>
+ * This is a singleton, so one instance is used for the entire game.
+ */
+@Singleton
+public final class DespawnEventQueue {
+    /**
+     * The number of events the queue can hold before it needs to grow.
+     */
+    private static final int INITIAL_CAPACITY = 64;
+
+    private int[] entityIds = new int[INITIAL_CAPACITY];
+    private int size = 0;
+
+    // Package-private constructor since dagger injects the dependencies.
+    @Inject
+    DespawnEventQueue() {}
+
+    /**
+     * Record an entity that left the world.
+     */
+    public void add(int entityId) {
+        if (size == entityIds.length) {
+            entityIds = Arrays.copyOf(entityIds, entityIds.length * 2);
+        }
+        entityIds[size++] = entityId;
+    }
+
+    /**
+     * The number of entities recorded.
+     */
+    public int size() {
+        return size;
+    }
+
+    public int getEntityId(int event) {
+        return entityIds[event];
+    }
+
+    /**
+     * Forget every recorded entity. The array is kept around for the next game tick.
+     */
+    public void clear() {
+        size = 0;
+    }
+}
@@ -0,0 +1,179 @@
+package io.github.qwbarch.entity.physics;
+
+import io.github.qwbarch.entity.component.LinearVelocity;
+import io.github.qwbarch.entity.component.Position;
+import io.github.qwbarch.entity.component.Size;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.Arrays;
+
+/**
+ * Packs the position, velocity and size of every entity with a position and a size into flat float arrays.
+ * <p/>
+ * Going through a component mapper means following a pointer to the component, and then another one for
+ * each vector inside it, so a single entity's bounds end up spread all over the heap.
+ * Here, every entity gets a slot instead, and all of its values are stored at that slot in each array.
+ * Slots are packed together, so looping over 0 until {@link #size()} touches nothing but the arrays.
+ * <p/>
+ * The artemis components are still what the rest of the game reads and writes.
+ * The physics layer copies the components into the arrays ({@link #pull}), works on the arrays,
+ * and then copies the results back ({@link #push}).
+ * <p/>
+ * This is a singleton, so one instance is used for the entire game.
+ */
+@Singleton
+public final class PhysicsStore {
+    /**
+     * The current position of each slot.
+     */
+    public float[] x = new float[0];
+    public float[] y = new float[0];
+
+    /**
+     * The position of each slot during the previous game tick.
+     */
+    public float[] previousX = new float[0];
+    public float[] previousY = new float[0];
+
+    /**
+     * The linear velocity of each slot. Entities without a linear velocity don't move.
+     */
+    public float[] velocityX = new float[0];
+    public float[] velocityY = new float[0];
+
+    /**
+     * The width/height of each slot.
+     */
+    public float[] width = new float[0];
+    public float[] height = new float[0];
+
+    /**
+     * The spawn order of each slot (see SpawnOrder), for breaking ties between entities
+     * without depending on their entity ids.
+     */
+    public int[] order = new int[0];
+
+    /**
+     * The entity stored in each slot.
+     */
+    private int[] entityIds = new int[0];
+
+    /**
+     * The slot of every stored entity, indexed by entity id.
+     * Entities that aren't stored have a slot of -1.
+     */
+    private int[] slots = new int[0];
+
+    /**
+     * The number of slots in use.
+     */
+    private int size = 0;
+
+    // Package-private constructor since dagger injects the dependencies.
+    @Inject
+    PhysicsStore() {}
+
+    /**
+     * The number of slots in use. Every slot below this holds an entity.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The entity stored in the given slot.
+     */
+    public int getEntityId(int slot) {
+        return entityIds[slot];
+    }
+
+    /**
+     * The slot of the given entity, or -1 if it isn't stored.
+     */
+    public int getSlot(int entityId) {
+        return entityId < slots.length ? slots[entityId] : -1;
+    }
+
+    /**
+     * Give the entity a slot, if it doesn't already have one.
+     * @return The entity's slot.
+     */
+    public int add(int entityId) {
+        if (entityId >= slots.length) {
+            var previousLength = slots.length;
+            slots = Arrays.copyOf(slots, Math.max(entityId + 1, previousLength * 2));
+            Arrays.fill(slots, previousLength, slots.length, -1);
+        }
+        if (slots[entityId] >= 0) return slots[entityId];
+
+        if (size == entityIds.length) {
+            var capacity = Math.max(16, size * 2);
+            x = Arrays.copyOf(x, capacity);
+            y = Arrays.copyOf(y, capacity);
+            previousX = Arrays.copyOf(previousX, capacity);
+            previousY = Arrays.copyOf(previousY, capacity);
+            velocityX = Arrays.copyOf(velocityX, capacity);
+            velocityY = Arrays.copyOf(velocityY, capacity);
+            width = Arrays.copyOf(width, capacity);
+            height = Arrays.copyOf(height, capacity);
+            order = Arrays.copyOf(order, capacity);
+            entityIds = Arrays.copyOf(entityIds, capacity);
+        }
+        var slot = size++;
+        entityIds[slot] = entityId;
+        slots[entityId] = slot;
+        return slot;
+    }
+
+    /**
+     * Free the entity's slot. Does nothing if the entity isn't stored.
+     * The last slot is moved into the freed slot to keep the slots packed together.
+     */
+    public void remove(int entityId) {
+        var slot = getSlot(entityId);
+        if (slot < 0) return;
+
+        var last = --size;
+        if (slot != last) {
+            x[slot] = x[last];
+            y[slot] = y[last];
+            previousX[slot] = previousX[last];
+            previousY[slot] = previousY[last];
+            velocityX[slot] = velocityX[last];
+            velocityY[slot] = velocityY[last];
+            width[slot] = width[last];
+            height[slot] = height[last];
+            order[slot] = order[last];
+            entityIds[slot] = entityIds[last];
+            slots[entityIds[slot]] = slot;
+        }
+        slots[entityId] = -1;
+    }
+
+    /**
+     * Copy the entity's components into its slot.
+     * @param velocity The entity's linear velocity, or null if it doesn't have one.
+     */
+    public void pull(int slot, Position position, LinearVelocity velocity, Size size) {
+        x[slot] = position.current.x;
+        y[slot] = position.current.y;
+        previousX[slot] = position.previous.x;
+        previousY[slot] = position.previous.y;
+        velocityX[slot] = velocity != null ? velocity.x : 0f;
+        velocityY[slot] = velocity != null ? velocity.y : 0f;
+        width[slot] = size.width;
+        height[slot] = size.height;
+    }
+
+    /**
+     * Copy the slot's position and velocity back into the entity's components.
+     * The size is never changed by the physics layer, so it isn't copied back.
+     * @param velocity The entity's linear velocity, or null if it doesn't have one.
+     */
+    public void push(int slot, Position position, LinearVelocity velocity) {
+        position.current.set(x[slot], y[slot]);
+        position.previous.set(previousX[slot], previousY[slot]);
+        if (velocity != null) velocity.set(velocityX[slot], velocityY[slot]);
+    }
+}
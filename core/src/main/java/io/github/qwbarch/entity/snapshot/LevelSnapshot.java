@@ -0,0 +1,64 @@
+package io.github.qwbarch.entity.snapshot;
+
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntSet;
+
+/**
+ * The static entities of a freshly spawned level (its borders and bricks), captured as the level is spawned.
+ * <p/>
+ * Retrying a level keeps these entities alive instead of deleting them, and resets them in place from the snapshot.
+ * Borders and indestructible bricks never change, so only their entity ids are kept. Destructible bricks also
+ * keep the position they were spawned at, since destroyed bricks lose their position until the level is retried.
+ */
+public final class LevelSnapshot {
+    /**
+     * The entity ids of every border and brick, for telling them apart from the entities spawned while playing.
+     */
+    private final IntSet entityIds = new IntSet();
+
+    /**
+     * The entity id of every destructible brick, in the order they were spawned in.
+     */
+    public final IntArray brickIds = new IntArray();
+
+    /**
+     * The position every destructible brick was spawned at.
+     */
+    public final FloatArray brickX = new FloatArray();
+    public final FloatArray brickY = new FloatArray();
+
+    public void addBorder(int entityId) {
+        entityIds.add(entityId);
+    }
+
+    /**
+     * @param startHitpoints The brick's hit points, or -1 for an indestructible brick.
+     */
+    public void addBrick(int entityId, float x, float y, int startHitpoints) {
+        entityIds.add(entityId);
+        if (startHitpoints > 0) {
+            brickIds.add(entityId);
+            brickX.add(x);
+            brickY.add(y);
+        }
+    }
+
+    /**
+     * Whether or not the entity is one of the level's borders or bricks.
+     */
+    public boolean contains(int entityId) {
+        return entityIds.contains(entityId);
+    }
+
+    public boolean isEmpty() {
+        return entityIds.isEmpty();
+    }
+
+    public void clear() {
+        entityIds.clear();
+        brickIds.clear();
+        brickX.clear();
+        brickY.clear();
+    }
+}
@@ -0,0 +1,72 @@
+package io.github.qwbarch.entity.snapshot;
+
+import com.badlogic.gdx.graphics.Texture;
+
+import java.util.Arrays;
+
+/**
+ * Everything needed to draw a single game tick: the texture and bounds of every drawable entity.
+ * <p/>
+ * Both the previous and the current positions are stored, so the renderer can interpolate between the
+ * two latest game ticks using nothing but the latest snapshot.
+ * A snapshot is never modified after it has been published through a {@link TripleBuffer}, up until the
+ * renderer is done with it.
+ */
+public final class RenderSnapshot {
+    /**
+     * The number of entities in the snapshot.
+     */
+    public int size = 0;
+
+    /**
+     * The clock time of when the game tick finished.
+     */
+    public long publishedAt = 0L;
+
+    /**
+     * The game tick the snapshot was taken at.
+     */
+    public int tick = 0;
+
+    public Texture[] textures = new Texture[0];
+    public float[] previousX = new float[0];
+    public float[] previousY = new float[0];
+    public float[] x = new float[0];
+    public float[] y = new float[0];
+    public float[] width = new float[0];
+    public float[] height = new float[0];
+
+    /**
+     * Forget every entity, making room for at least the given number of entities.
+     */
+    public void reset(int capacity) {
+        // Let go of the textures, in case they get disposed of.
+        Arrays.fill(textures, 0, size, null);
+        size = 0;
+
+        if (capacity > textures.length) {
+            var newCapacity = Math.max(capacity, textures.length * 2);
+            textures = Arrays.copyOf(textures, newCapacity);
+            previousX = Arrays.copyOf(previousX, newCapacity);
+            previousY = Arrays.copyOf(previousY, newCapacity);
+            x = Arrays.copyOf(x, newCapacity);
+            y = Arrays.copyOf(y, newCapacity);
+            width = Arrays.copyOf(width, newCapacity);
+            height = Arrays.copyOf(height, newCapacity);
+        }
+    }
+
+    /**
+     * Add an entity to the snapshot. {@link #reset(int)} must have made enough room for it.
+     */
+    public void add(Texture texture, float previousX, float previousY, float x, float y, float width, float height) {
+        var index = size++;
+        textures[index] = texture;
+        this.previousX[index] = previousX;
+        this.previousY[index] = previousY;
+        this.x[index] = x;
+        this.y[index] = y;
+        this.width[index] = width;
+        this.height[index] = height;
+    }
+}
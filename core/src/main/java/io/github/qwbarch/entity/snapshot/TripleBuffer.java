@@ -0,0 +1,70 @@
+package io.github.qwbarch.entity.snapshot;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Hands the latest value written by one thread over to another thread, without either of them ever waiting.
+ * <p/>
+ * There are three buffers: the writer owns one, the reader owns one, and the third one sits in the middle.
+ * Publishing swaps the writer's buffer with the middle one, and reading swaps the reader's buffer with the
+ * middle one (only if something new was published since the last read). Since each side only ever touches
+ * the buffer it owns, a buffer is never written to while it's being read.
+ * <p/>
+ * Only one thread may write, and only one thread may read. The writer can change to another thread, as long as
+ * the previous writer is done (for example, publishing before starting the thread that publishes from then on).
+ */
+public final class TripleBuffer<T> {
+    /**
+     * The middle index is stored in the lower bits, with this bit set if it was published but not read yet.
+     */
+    private static final int FRESH = 0b100;
+    private static final int INDEX_MASK = 0b011;
+
+    private final Object[] buffers;
+    private final AtomicInteger middle = new AtomicInteger(1);
+
+    /**
+     * Only touched by the writer.
+     */
+    private int back = 0;
+
+    /**
+     * Only touched by the reader.
+     */
+    private int front = 2;
+
+    /**
+     * @param factory Creates each of the three buffers.
+     */
+    public TripleBuffer(Supplier<T> factory) {
+        buffers = new Object[]{factory.get(), factory.get(), factory.get()};
+    }
+
+    /**
+     * The buffer the writer is free to fill in. This stays the same buffer until {@link #publish()} is called.
+     */
+    @SuppressWarnings("unchecked")
+    public T getWriteBuffer() {
+        return (T) buffers[back];
+    }
+
+    /**
+     * Make the write buffer the latest value, and get a new buffer to write to.
+     */
+    public void publish() {
+        back = middle.getAndSet(back | FRESH) & INDEX_MASK;
+    }
+
+    /**
+     * The latest published value. If nothing new was published since the last read, the same buffer is returned.
+     * The returned buffer isn't touched by the writer until the next read.
+     */
+    @SuppressWarnings("unchecked")
+    public T read() {
+        if ((middle.get() & FRESH) != 0) {
+            front = middle.getAndSet(front) & INDEX_MASK;
+        }
+        return (T) buffers[front];
+    }
+}
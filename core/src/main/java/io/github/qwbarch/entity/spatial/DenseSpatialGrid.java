@@ -0,0 +1,269 @@
+package io.github.qwbarch.entity.spatial;
+
+import com.artemis.utils.IntBag;
+
+import java.util.Arrays;
+
+/**
+ * A spatial grid for a bounded world, where every cell inside the bounds is stored in flat int arrays.
+ * <p/>
+ * The cells use a compressed sparse row layout: the entities of all cells are stored back-to-back in a single
+ * array, and each cell only knows the offset of its first entity and how many entities it holds.
+ * This is rebuilt with a counting sort whenever new entities are inserted, which avoids hashing
+ * the cell coordinates on every lookup and keeps neighbouring cells close together in memory.
+ * <p/>
+ * Entities that don't fit inside the bounds are stored in a {@link HashSpatialGrid} instead.
+ */
+public final class DenseSpatialGrid implements SpatialGrid {
+    /**
+     * The width/height of a single cell using in-game units.
+     */
+    private final int cellSize;
+
+    /**
+     * Coordinates of the bottom-left cell of the grid.
+     */
+    private final int originCellX;
+    private final int originCellY;
+
+    /**
+     * The number of cells along the x and y axis.
+     */
+    private final int columns;
+    private final int rows;
+
+    /**
+     * Offset of each cell's first entity in the entries array, indexed by (row * columns + column).
+     */
+    private final int[] cellStarts;
+
+    /**
+     * The number of entities held by each cell, indexed by (row * columns + column).
+     */
+    private final int[] cellCounts;
+
+    /**
+     * The entities of every cell, stored back-to-back.
+     */
+    private int[] entries = new int[0];
+
+    /**
+     * Entities that are stored inside the bounds of the grid, in no particular order.
+     */
+    private int[] members = new int[0];
+    private int memberCount = 0;
+
+    /**
+     * Index of every stored entity in the members array, indexed by entity id.
+     * Entities that aren't stored inside the bounds of the grid have an index of -1.
+     */
+    private int[] memberIndices = new int[0];
+
+    /**
+     * The cell bounds of every stored entity, indexed by (entityId * 4):
+     * min cell x, min cell y, max cell x, max cell y.
+     */
+    private int[] entityCells = new int[0];
+
+    /**
+     * Whether or not entities were inserted since the cells were last rebuilt.
+     */
+    private boolean dirty = false;
+
+    /**
+     * Entities that don't fit inside the bounds of the grid.
+     */
+    private final HashSpatialGrid overflow;
+
+    /**
+     * Create a grid covering the given bounds using in-game units.
+     */
+    public DenseSpatialGrid(int cellSize, float minX, float minY, float maxX, float maxY) {
+        this.cellSize = cellSize;
+        originCellX = cell(minX);
+        originCellY = cell(minY);
+        columns = cell(maxX) - originCellX + 1;
+        rows = cell(maxY) - originCellY + 1;
+        cellStarts = new int[columns * rows];
+        cellCounts = new int[columns * rows];
+        overflow = new HashSpatialGrid(cellSize);
+    }
+
+    private int cell(float coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    private void ensureCapacity(int entityId) {
+        if (entityId >= memberIndices.length) {
+            var capacity = Math.max(entityId + 1, memberIndices.length * 2);
+            var previousCapacity = memberIndices.length;
+            memberIndices = Arrays.copyOf(memberIndices, capacity);
+            Arrays.fill(memberIndices, previousCapacity, capacity, -1);
+            entityCells = Arrays.copyOf(entityCells, capacity * 4);
+        }
+    }
+
+    @Override
+    public void insert(int entityId, float left, float bottom, float right, float top) {
+        ensureCapacity(entityId);
+        remove(entityId);
+
+        var minCellX = cell(left);
+        var minCellY = cell(bottom);
+        var maxCellX = cell(right);
+        var maxCellY = cell(top);
+
+        // Entities outside the bounds fall back to the hash grid.
+        if (minCellX < originCellX
+            || minCellY < originCellY
+            || maxCellX >= originCellX + columns
+            || maxCellY >= originCellY + rows
+        ) {
+            overflow.insert(entityId, left, bottom, right, top);
+            return;
+        }
+
+        entityCells[entityId * 4] = minCellX - originCellX;
+        entityCells[entityId * 4 + 1] = minCellY - originCellY;
+        entityCells[entityId * 4 + 2] = maxCellX - originCellX;
+        entityCells[entityId * 4 + 3] = maxCellY - originCellY;
+
+        if (memberCount == members.length) {
+            members = Arrays.copyOf(members, Math.max(16, memberCount * 2));
+        }
+        memberIndices[entityId] = memberCount;
+        members[memberCount++] = entityId;
+
+        // The cells are rebuilt in bulk on the next query.
+        dirty = true;
+    }
+
+    @Override
+    public void remove(int entityId) {
+        if (entityId >= memberIndices.length) return;
+        var memberIndex = memberIndices[entityId];
+        if (memberIndex < 0) {
+            overflow.remove(entityId);
+            return;
+        }
+
+        // Swap the last member into the removed member's slot.
+        var lastMember = members[--memberCount];
+        members[memberIndex] = lastMember;
+        memberIndices[lastMember] = memberIndex;
+        memberIndices[entityId] = -1;
+
+        // The entity is simply left out when the cells are rebuilt.
+        if (dirty) return;
+
+        // Otherwise remove it from each of its cells by swapping in the cell's last entity.
+        var minCellX = entityCells[entityId * 4];
+        var minCellY = entityCells[entityId * 4 + 1];
+        var maxCellX = entityCells[entityId * 4 + 2];
+        var maxCellY = entityCells[entityId * 4 + 3];
+        for (var cellY = minCellY; cellY <= maxCellY; cellY++) {
+            for (var cellX = minCellX; cellX <= maxCellX; cellX++) {
+                var cell = cellY * columns + cellX;
+                var start = cellStarts[cell];
+                var end = start + cellCounts[cell];
+                for (var i = start; i < end; i++) {
+                    if (entries[i] == entityId) {
+                        entries[i] = entries[end - 1];
+                        cellCounts[cell]--;
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        for (var i = 0; i < memberCount; i++) {
+            memberIndices[members[i]] = -1;
+        }
+        memberCount = 0;
+        overflow.clear();
+        dirty = true;
+    }
+
+    /**
+     * Rebuild the cells from scratch using a counting sort.
+     */
+    private void rebuild() {
+        // Count the number of entities in each cell.
+        Arrays.fill(cellCounts, 0);
+        for (var i = 0; i < memberCount; i++) {
+            var entityId = members[i];
+            var minCellX = entityCells[entityId * 4];
+            var minCellY = entityCells[entityId * 4 + 1];
+            var maxCellX = entityCells[entityId * 4 + 2];
+            var maxCellY = entityCells[entityId * 4 + 3];
+            for (var cellY = minCellY; cellY <= maxCellY; cellY++) {
+                for (var cellX = minCellX; cellX <= maxCellX; cellX++) {
+                    cellCounts[cellY * columns + cellX]++;
+                }
+            }
+        }
+
+        // Each cell starts where the previous cell ends.
+        var total = 0;
+        for (var cell = 0; cell < cellCounts.length; cell++) {
+            cellStarts[cell] = total;
+            total += cellCounts[cell];
+            cellCounts[cell] = 0;
+        }
+        if (entries.length < total) {
+            entries = new int[Math.max(total, entries.length * 2)];
+        }
+
+        // Place the entities into their cells, counting them up again along the way.
+        for (var i = 0; i < memberCount; i++) {
+            var entityId = members[i];
+            var minCellX = entityCells[entityId * 4];
+            var minCellY = entityCells[entityId * 4 + 1];
+            var maxCellX = entityCells[entityId * 4 + 2];
+            var maxCellY = entityCells[entityId * 4 + 3];
+            for (var cellY = minCellY; cellY <= maxCellY; cellY++) {
+                for (var cellX = minCellX; cellX <= maxCellX; cellX++) {
+                    var cell = cellY * columns + cellX;
+                    entries[cellStarts[cell] + cellCounts[cell]++] = entityId;
+                }
+            }
+        }
+
+        dirty = false;
+    }
+
+    @Override
+    public void prepare() {
+        if (dirty) rebuild();
+    }
+
+    @Override
+    public void query(float left, float bottom, float right, float top, EntityStamp visited, IntBag output) {
+        if (dirty) rebuild();
+
+        // Only look at the cells inside the bounds of the grid.
+        var minCellX = Math.max(cell(left) - originCellX, 0);
+        var minCellY = Math.max(cell(bottom) - originCellY, 0);
+        var maxCellX = Math.min(cell(right) - originCellX, columns - 1);
+        var maxCellY = Math.min(cell(top) - originCellY, rows - 1);
+
+        for (var cellY = minCellY; cellY <= maxCellY; cellY++) {
+            for (var cellX = minCellX; cellX <= maxCellX; cellX++) {
+                var cell = cellY * columns + cellX;
+                var start = cellStarts[cell];
+                var end = start + cellCounts[cell];
+                for (var i = start; i < end; i++) {
+                    var entityId = entries[i];
+                    if (visited.mark(entityId)) output.add(entityId);
+                }
+            }
+        }
+
+        if (!overflow.isEmpty()) {
+            overflow.query(left, bottom, right, top, visited, output);
+        }
+    }
+}
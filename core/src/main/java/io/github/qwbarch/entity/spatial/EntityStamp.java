@@ -0,0 +1,47 @@
+package io.github.qwbarch.entity.spatial;
+
+import java.util.Arrays;
+
+/**
+ * Keeps track of which entities were already visited during a query, in order to avoid duplicating work.
+ * <p/>
+ * Instead of clearing a set before every query, each entity is stamped with the current epoch when visited.
+ * Starting a new query simply bumps the epoch, which makes every older stamp stale.
+ */
+public final class EntityStamp {
+    /**
+     * The epoch each entity was last visited in, indexed by entity id.
+     */
+    private int[] stamps = new int[0];
+
+    /**
+     * The epoch of the current query. Stamps start at 0, so this starts at 1.
+     */
+    private int epoch = 1;
+
+    /**
+     * Start a new query, forgetting about every previously visited entity.
+     */
+    public void next() {
+        epoch++;
+
+        // The epoch wrapped around, reset the stamps so that old stamps can't match the new epochs.
+        if (epoch == 0) {
+            Arrays.fill(stamps, 0);
+            epoch = 1;
+        }
+    }
+
+    /**
+     * Mark the entity as visited.
+     * @return True if the entity wasn't visited yet during the current query.
+     */
+    public boolean mark(int entityId) {
+        if (entityId >= stamps.length) {
+            stamps = Arrays.copyOf(stamps, Math.max(entityId + 1, stamps.length * 2));
+        }
+        if (stamps[entityId] == epoch) return false;
+        stamps[entityId] = epoch;
+        return true;
+    }
+}
@@ -0,0 +1,180 @@
+package io.github.qwbarch.entity.spatial;
+
+import com.artemis.utils.IntBag;
+import com.badlogic.gdx.utils.LongMap;
+import com.badlogic.gdx.utils.Pool;
+
+import java.util.Arrays;
+
+/**
+ * A spatial grid that stores its cells in a hash map, keyed by the cell's coordinates.
+ * Only the cells that contain entities take up memory, so this works for any coordinates.
+ */
+public final class HashSpatialGrid implements SpatialGrid {
+    /**
+     * The width/height of a single cell using in-game units.
+     */
+    private final int cellSize;
+
+    /**
+     * A pool of buckets for the cells to avoid unnecessary heap allocations.
+     */
+    private final Pool<IntBag> bucketPool = new Pool<>() {
+        @Override
+        protected IntBag newObject() {
+            return new IntBag();
+        }
+    };
+
+    /**
+     * The entities stored in each cell, keyed by the cell's coordinates.
+     */
+    private final LongMap<IntBag> cells = new LongMap<>();
+
+    /**
+     * The entities currently stored in the grid.
+     */
+    private final IntBag entities = new IntBag();
+
+    /**
+     * The cell bounds of every stored entity, indexed by (entityId * 4):
+     * min cell x, min cell y, max cell x, max cell y.
+     * This allows an entity to be removed without having to look up its components,
+     * which may already be gone by the time it's removed.
+     */
+    private int[] entityCells = new int[0];
+
+    /**
+     * Whether or not an entity is currently stored in the grid, indexed by entity id.
+     */
+    private boolean[] stored = new boolean[0];
+
+    public HashSpatialGrid(int cellSize) {
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Store cellX and cellY into a single long key:
+     * https://stackoverflow.com/questions/12772939/java-storing-two-ints-in-a-long
+     */
+    private static long key(int cellX, int cellY) {
+        return (((long) cellX) << 32) | (cellY & 0xffffffffL);
+    }
+
+    private int cell(float coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    private void ensureCapacity(int entityId) {
+        if (entityId >= stored.length) {
+            var capacity = Math.max(entityId + 1, stored.length * 2);
+            stored = Arrays.copyOf(stored, capacity);
+            entityCells = Arrays.copyOf(entityCells, capacity * 4);
+        }
+    }
+
+    /**
+     * Whether or not the grid has no entities stored.
+     */
+    public boolean isEmpty() {
+        return entities.isEmpty();
+    }
+
+    @Override
+    public void insert(int entityId, float left, float bottom, float right, float top) {
+        ensureCapacity(entityId);
+        if (stored[entityId]) remove(entityId);
+
+        var minCellX = cell(left);
+        var minCellY = cell(bottom);
+        var maxCellX = cell(right);
+        var maxCellY = cell(top);
+
+        stored[entityId] = true;
+        entities.add(entityId);
+        entityCells[entityId * 4] = minCellX;
+        entityCells[entityId * 4 + 1] = minCellY;
+        entityCells[entityId * 4 + 2] = maxCellX;
+        entityCells[entityId * 4 + 3] = maxCellY;
+
+        // Store the entity in its respective cells.
+        for (var cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for (var cellY = minCellY; cellY <= maxCellY; cellY++) {
+                var key = key(cellX, cellY);
+                var bucket = cells.get(key);
+                if (bucket == null) {
+                    bucket = bucketPool.obtain();
+                    cells.put(key, bucket);
+                }
+                bucket.add(entityId);
+            }
+        }
+    }
+
+    @Override
+    public void remove(int entityId) {
+        if (entityId >= stored.length || !stored[entityId]) return;
+        stored[entityId] = false;
+        entities.removeValue(entityId);
+
+        var minCellX = entityCells[entityId * 4];
+        var minCellY = entityCells[entityId * 4 + 1];
+        var maxCellX = entityCells[entityId * 4 + 2];
+        var maxCellY = entityCells[entityId * 4 + 3];
+
+        for (var cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for (var cellY = minCellY; cellY <= maxCellY; cellY++) {
+                var key = key(cellX, cellY);
+                var bucket = cells.get(key);
+                if (bucket == null) continue;
+                bucket.removeValue(entityId);
+
+                // Return empty buckets to the pool.
+                if (bucket.isEmpty()) {
+                    cells.remove(key);
+                    bucketPool.free(bucket);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        // Return the buckets to the pool before clearing.
+        for (var bucket : cells) {
+            bucket.value.clear();
+            bucketPool.free(bucket.value);
+        }
+        cells.clear();
+
+        for (var i = 0; i < entities.size(); i++) {
+            stored[entities.get(i)] = false;
+        }
+        entities.clear();
+    }
+
+    @Override
+    public void prepare() {
+        // Queries never modify the cells, so there's nothing to prepare.
+    }
+
+    @Override
+    public void query(float left, float bottom, float right, float top, EntityStamp visited, IntBag output) {
+        var minCellX = cell(left);
+        var minCellY = cell(bottom);
+        var maxCellX = cell(right);
+        var maxCellY = cell(top);
+
+        for (var cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for (var cellY = minCellY; cellY <= maxCellY; cellY++) {
+                var bucket = cells.get(key(cellX, cellY));
+                if (bucket == null) continue;
+
+                for (var i = 0; i < bucket.size(); i++) {
+                    var entityId = bucket.get(i);
+                    if (visited.mark(entityId)) output.add(entityId);
+                }
+            }
+        }
+    }
+}
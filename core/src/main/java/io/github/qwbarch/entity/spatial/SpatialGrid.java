@@ -0,0 +1,39 @@
+package io.github.qwbarch.entity.spatial;
+
+import com.artemis.utils.IntBag;
+
+/**
+ * Splits up the world into a grid of cells, so that collision detection
+ * is only performed on the entities closest to the collider.
+ */
+public interface SpatialGrid {
+    /**
+     * Store an entity in every cell overlapping its bounds.
+     * If the entity is already stored, it is moved to its new bounds.
+     */
+    void insert(int entityId, float left, float bottom, float right, float top);
+
+    /**
+     * Remove an entity from the grid. Does nothing if the entity isn't stored.
+     */
+    void remove(int entityId);
+
+    /**
+     * Remove every entity from the grid.
+     */
+    void clear();
+
+    /**
+     * Add every entity stored in the cells overlapping the given bounds to the output bag.
+     * Entities already marked as visited are skipped, so an entity spanning multiple cells is only added once.
+     * @param visited The entities visited during the current query. Its epoch is not bumped by the grid,
+     *                which allows multiple grids to share the same query.
+     */
+    void query(float left, float bottom, float right, float top, EntityStamp visited, IntBag output);
+
+    /**
+     * Finish any pending work, so that queries don't modify the grid.
+     * Queries are safe to run from multiple threads after this, up until the grid is modified again.
+     */
+    void prepare();
+}
@@ -2,8 +2,11 @@ package io.github.qwbarch.entity.strategy;
 
 import com.artemis.BaseSystem;
 import com.artemis.SystemInvocationStrategy;
+import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.ArrayMap;
+import io.github.qwbarch.Clock;
 import io.github.qwbarch.entity.system.LogicSystem;
+import io.github.qwbarch.entity.system.TickSystem;
 import io.github.qwbarch.entity.system.RenderSystem;
 
 import javax.inject.Inject;
@@ -27,11 +30,43 @@ import javax.inject.Singleton;
  */
 @Singleton
 public final class FixedTimestepInvocationStrategy extends SystemInvocationStrategy {
+    /**
+     * Time scale that runs as many game ticks as fit in the unbounded budget every frame.
+     */
+    public static final float TIME_SCALE_UNBOUNDED = Float.POSITIVE_INFINITY;
+
+    /**
+     * The default wall-clock time spent running game ticks per frame with an unbounded time scale.
+     * This leaves about 4 milliseconds of a 60 FPS frame for rendering.
+     */
+    public static final long DEFAULT_UNBOUNDED_BUDGET_NANOS = 12_000_000L;
+
+    /**
+     * The most game ticks a single frame runs at 1x speed.
+     * If the frame rate is too low to keep up, the simulation slows down instead, avoiding a spiral of death.
+     */
+    private static final int MAX_TICKS_PER_FRAME = 25;
+
     /**
      * Time in seconds per game tick.
      */
     private final float secondsPerTick;
 
+    /**
+     * Where the frame time is read from.
+     */
+    private final Clock clock;
+
+    /**
+     * Records how long each system takes, if enabled.
+     */
+    private final SystemProfiler profiler;
+
+    /**
+     * Measures how long key presses take to show up on screen, if the profiler is enabled.
+     */
+    private final InputLatency latency;
+
     /**
      * Systems that run at a fixed timestep.
      * The mapped values indicates whether the system is enabled or not.
@@ -52,23 +87,153 @@ public final class FixedTimestepInvocationStrategy extends SystemInvocationStrat
     /**
      * Snapshot of the previously elapsed frame time.
      */
-    private float previousFrameTime = System.nanoTime();
+    private long previousFrameTime;
+
+    /**
+     * The number of game ticks processed so far.
+     */
+    private int tick = 0;
+
+    /**
+     * Whether or not game ticks are stepped manually instead of following the system clock.
+     */
+    private boolean manualStepping = false;
+
+    /**
+     * Whether or not only the logic systems are processed. The remaining systems are left to the caller.
+     */
+    private boolean logicOnly = false;
+
+    /**
+     * How fast game time passes relative to real time. This is read from the simulation thread too.
+     */
+    private volatile float timeScale = 1f;
+
+    /**
+     * Wall-clock time spent running game ticks per frame with an unbounded time scale.
+     */
+    private long unboundedBudgetNanos = DEFAULT_UNBOUNDED_BUDGET_NANOS;
+
+    /**
+     * Whether or not systems that don't touch the same data are run concurrently.
+     */
+    private final boolean parallelSystems;
+
+    /**
+     * Whether or not systems are checked for touching data they didn't declare. See {@link SystemScheduler}.
+     */
+    private final boolean checkSystemAccess;
+
+    /**
+     * Schedulers for the logic and default systems, only used if either of the above is enabled.
+     * These are created on the first World.process(), once every system has been initialized.
+     */
+    private SystemScheduler logicScheduler;
+    private SystemScheduler defaultScheduler;
+
+    private final Runnable entityStateUpdater = this::updateEntityStates;
 
     @Inject
-    FixedTimestepInvocationStrategy(@Named("secondsPerTick") float secondsPerTick) {
+    FixedTimestepInvocationStrategy(
+        @Named("secondsPerTick") float secondsPerTick,
+        Clock clock,
+        SystemProfiler profiler,
+        InputLatency latency,
+        @Named("parallelSystems") boolean parallelSystems,
+        @Named("checkSystemAccess") boolean checkSystemAccess
+    ) {
         this.secondsPerTick = secondsPerTick;
+        this.clock = clock;
+        this.previousFrameTime = clock.nanoTime();
+        this.profiler = profiler;
+        this.latency = latency;
+        this.parallelSystems = parallelSystems;
+        this.checkSystemAccess = checkSystemAccess;
     }
 
+    /**
+     * The current game tick. This is incremented right before the logic systems are processed,
+     * so the first game tick is 1.
+     * <p/>
+     * Logic that needs to wait for a certain amount of time should count game ticks rather than
+     * reading the system clock, so that it behaves the same no matter how fast the game is running.
+     */
+    public int getTick() {
+        return tick;
+    }
+
+    /**
+     * When enabled, every call to World.process() runs exactly one game tick, no matter how much time has passed.
+     * This allows the simulation to run as fast as possible, without a window (or a render loop) driving it.
+     */
+    public void setManualStepping(boolean manualStepping) {
+        this.manualStepping = manualStepping;
+    }
+
+    /**
+     * When enabled, World.process() only runs the logic systems, for when the world is processed on a separate
+     * simulation thread. Rendering then happens on the render thread, from snapshots the simulation publishes.
+     */
+    public void setLogicOnly(boolean logicOnly) {
+        this.logicOnly = logicOnly;
+    }
+
+    /**
+     * Set how fast game time passes relative to real time, for example 0 to freeze the game, 0.5 for slow motion,
+     * or 4 to fast-forward. {@link #TIME_SCALE_UNBOUNDED} runs as many game ticks as the unbounded budget allows,
+     * and skips interpolation since the rendered frames are so far apart in game time anyway.
+     * <p/>
+     * Game ticks are the same length no matter the time scale, only how many of them run per frame changes.
+     * So the simulation plays out exactly the same as it would in real time.
+     * This has no effect while manually stepping, which already runs as fast as the caller wants.
+     */
+    public void setTimeScale(float timeScale) {
+        if (!(timeScale >= 0f)) throw new IllegalArgumentException("Time scale must be at least 0, got: " + timeScale);
+        this.timeScale = timeScale;
+    }
+
+    public float getTimeScale() {
+        return timeScale;
+    }
+
+    /**
+     * Set the wall-clock time spent running game ticks per frame with an unbounded time scale.
+     */
+    public void setUnboundedBudgetNanos(long unboundedBudgetNanos) {
+        this.unboundedBudgetNanos = unboundedBudgetNanos;
+    }
+
+    /**
+     * Add and remove the entities created and deleted since the world was last processed, without processing
+     * any systems. Must not be called while the world is being processed.
+     */
+    void flushEntityStates() {
+        updateEntityStates();
+    }
+
+    /**
+     * Tick systems run with the logic systems, so queued up input is handed over at the start of a game tick,
+     * and events recorded during a game tick are handled in that same game tick.
+     */
     private ArrayMap<BaseSystem, Boolean> isEnabledForSystem(BaseSystem system) {
-        if (system instanceof LogicSystem) return logicSystems;
-        else return defaultSystems;
+        if (system instanceof LogicSystem || system instanceof TickSystem) return logicSystems;
+        return defaultSystems;
     }
 
     @Override
     public void initialize() {
         for (var system : systems.getData()) {
             setEnabled(system, true);
+            profiler.register(system);
+        }
+    }
+
+    private SystemScheduler createScheduler(ArrayMap<BaseSystem, Boolean> systems) {
+        var registered = new Array<BaseSystem>(systems.size);
+        for (var i = 0; i < systems.size; i++) {
+            registered.add(systems.getKeyAt(i));
         }
+        return new SystemScheduler(world, registered, profiler, checkSystemAccess);
     }
 
     @Override
@@ -85,44 +250,109 @@ public final class FixedTimestepInvocationStrategy extends SystemInvocationStrat
 
     @Override
     protected void process() {
-        var newTime = System.nanoTime();
-        world.delta = (newTime - previousFrameTime) / 1000000000f;
-        previousFrameTime = newTime;
+        // Read once, so the time scale can't change halfway through the frame.
+        var timeScale = manualStepping ? 1f : this.timeScale;
+        var frameStart = clock.nanoTime();
+        if (manualStepping) {
+            world.delta = secondsPerTick;
+            accumulator += secondsPerTick;
+        } else {
+            world.delta = (frameStart - previousFrameTime) / 1000000000f;
+            previousFrameTime = frameStart;
 
-        // If delta value is too huge, cap it at (SECONDS_PER_TICK * 25f)
-        // This slows the simulation down if the frame rate is too low, avoiding spiral of death
-        accumulator += Math.min(world.delta, secondsPerTick * 25f);
+            // If delta value is too huge, cap it at MAX_TICKS_PER_FRAME game ticks (scaled by the time scale).
+            // This slows the simulation down if the frame rate is too low, avoiding spiral of death
+            if (timeScale != TIME_SCALE_UNBOUNDED) {
+                accumulator += Math.min(
+                    world.delta * timeScale,
+                    secondsPerTick * MAX_TICKS_PER_FRAME * Math.max(1f, timeScale)
+                );
+            }
+        }
 
         // This must be called before updating systems.
         updateEntityStates();
 
-        processLogicSystems();
-        processDefaultSystems();
+        if ((parallelSystems || checkSystemAccess) && logicScheduler == null) {
+            logicScheduler = createScheduler(logicSystems);
+            defaultScheduler = createScheduler(defaultSystems);
+        }
+
+        var backlog = accumulator;
+        var ticks = timeScale == TIME_SCALE_UNBOUNDED
+            ? processLogicSystemsUntil(frameStart + unboundedBudgetNanos)
+            : processLogicSystems();
+        if (profiler.isEnabled()) {
+            profiler.recordFrame(ticks, (long) (backlog * 1_000_000_000L));
+        }
+
+        // Without interpolation, the latest game tick is drawn as is.
+        if (!logicOnly) processDefaultSystems(timeScale == TIME_SCALE_UNBOUNDED ? 1f : accumulator / secondsPerTick);
     }
 
-    private void processLogicSystems() {
+    /**
+     * Run as many game ticks as the accumulator holds.
+     * @return The number of game ticks processed.
+     */
+    private int processLogicSystems() {
+        var ticks = 0;
         while (accumulator >= secondsPerTick) {
             accumulator -= secondsPerTick;
+            processTick();
+            ticks++;
+        }
+        return ticks;
+    }
+
+    /**
+     * Run game ticks until the deadline passes, running at least one.
+     * @param deadline The clock time to stop at.
+     * @return The number of game ticks processed.
+     */
+    private int processLogicSystemsUntil(long deadline) {
+        accumulator = 0f;
+        var ticks = 0;
+        do {
+            processTick();
+            ticks++;
+        } while (clock.nanoTime() < deadline);
+        return ticks;
+    }
+
+    private void processTick() {
+        tick++;
+        if (logicScheduler != null) {
+            logicScheduler.process(logicSystems, entityStateUpdater);
+        } else {
             for (var i = 0; i < logicSystems.size; i++) {
                 // If the logic system is enabled, process it.
                 if (logicSystems.getValueAt(i)) {
-                    logicSystems.getKeyAt(i).process();
+                    profiler.process(logicSystems.getKeyAt(i));
                     updateEntityStates();
                 }
             }
         }
+
+        // The game tick's input has now moved the entities.
+        latency.tickFinished(tick);
     }
 
-    private void processDefaultSystems() {
+    private void processDefaultSystems(float alpha) {
+        // Update the alpha value of every RenderSystem.
+        for (var i = 0; i < defaultSystems.size; i++) {
+            if (defaultSystems.getKeyAt(i) instanceof RenderSystem renderSystem) {
+                renderSystem.alpha = alpha;
+            }
+        }
+
+        if (defaultScheduler != null) {
+            defaultScheduler.process(defaultSystems, entityStateUpdater);
+            return;
+        }
         for (var i = 0; i < defaultSystems.size; i++) {
             // If the default system is enabled, process it.
             if (defaultSystems.getValueAt(i)) {
-                var system = defaultSystems.getKeyAt(i);
-                // Update the alpha value if the system is a RenderSystem.
-                if (system instanceof RenderSystem) {
-                    ((RenderSystem) system).alpha = accumulator / secondsPerTick;
-                }
-                system.process();
+                profiler.process(defaultSystems.getKeyAt(i));
                 updateEntityStates();
             }
         }
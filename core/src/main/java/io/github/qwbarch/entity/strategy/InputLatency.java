@@ -0,0 +1,153 @@
+package io.github.qwbarch.entity.strategy;
+
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.LongArray;
+import io.github.qwbarch.Clock;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Measures how long it takes for a key press to show up on screen, split into three stages:
+ * <ul>
+ *     <li>Queued: from the key event arriving, until the {@link io.github.qwbarch.entity.system.InputSystem}
+ *     hands it to the entities at the start of a game tick.</li>
+ *     <li>Ticked: from the key event arriving, until the {@link FixedTimestepInvocationStrategy} finishes the
+ *     game tick that moved the entities.</li>
+ *     <li>Drawn: from the key event arriving, until the {@link io.github.qwbarch.entity.system.RenderSystem}
+ *     finishes drawing the first frame that includes that game tick.</li>
+ * </ul>
+ * Every key event is stamped with the clock time it arrived at, and that stamp follows it through each stage.
+ * The last stage stops once the sprites are handed to the batch, so the time spent by the GPU and the display
+ * isn't included.
+ * <p/>
+ * Like the {@link SystemProfiler}, nothing is recorded while the profiler is disabled.
+ * The first two stages are recorded by the thread processing the world, and the last one by the render thread.
+ * <p/>
+ * This is a singleton, so one instance is used for the entire game.
+ */
+@Singleton
+public final class InputLatency {
+    // Dependencies injected via dagger.
+    private final Clock clock;
+    private final SystemProfiler profiler;
+
+    private final LatencyHistogram queued = new LatencyHistogram();
+    private final LatencyHistogram ticked = new LatencyHistogram();
+    private final LatencyHistogram drawn = new LatencyHistogram();
+
+    /**
+     * Arrival times of the key events handed to the entities during the current game tick.
+     * Only touched by the thread processing the world.
+     */
+    private final LongArray pending = new LongArray();
+
+    /**
+     * Arrival times of the key events whose game tick has finished, but hasn't been drawn yet,
+     * along with the game tick they were handed to the entities in.
+     * Guarded by this object's lock, since it's handed from the thread processing the world to the render thread.
+     */
+    private final LongArray undrawn = new LongArray();
+    private final IntArray undrawnTicks = new IntArray();
+
+    /**
+     * The size of undrawn, so the render thread can skip the lock when there's nothing waiting to be drawn.
+     */
+    private volatile int undrawnSize = 0;
+
+    // Package-private constructor since dagger injects the dependencies.
+    @Inject
+    InputLatency(Clock clock, SystemProfiler profiler) {
+        this.clock = clock;
+        this.profiler = profiler;
+    }
+
+    /**
+     * The clock time to stamp a key event with as it arrives.
+     */
+    public long stamp() {
+        return clock.nanoTime();
+    }
+
+    /**
+     * Record key events handed to the entities. Called by the input system, on the thread processing the world.
+     * @param arrivedAt The clock time each key event arrived at.
+     */
+    public void inputApplied(LongArray arrivedAt) {
+        if (!profiler.isEnabled() || arrivedAt.size == 0) return;
+        var now = clock.nanoTime();
+        for (var i = 0; i < arrivedAt.size; i++) {
+            queued.add(now - arrivedAt.get(i));
+        }
+        pending.addAll(arrivedAt);
+    }
+
+    /**
+     * Record the end of a game tick. Called by the invocation strategy, on the thread processing the world.
+     */
+    void tickFinished(int tick) {
+        if (pending.size == 0) return;
+        var now = clock.nanoTime();
+        for (var i = 0; i < pending.size; i++) {
+            ticked.add(now - pending.get(i));
+        }
+        synchronized (this) {
+            undrawn.addAll(pending);
+            for (var i = 0; i < pending.size; i++) {
+                undrawnTicks.add(tick);
+            }
+            undrawnSize = undrawn.size;
+        }
+        pending.clear();
+    }
+
+    /**
+     * Record a frame drawing the latest game tick. Called by the render system, right after drawing the world.
+     */
+    public void frameDrawn() {
+        frameDrawn(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Record a frame drawing the given game tick, which may be older than the latest one if the world
+     * is processed on the simulation thread. Called by the render system, right after drawing a snapshot.
+     */
+    public void frameDrawn(int tick) {
+        if (undrawnSize == 0) return;
+        var now = clock.nanoTime();
+        synchronized (this) {
+            // Key events are in the order their game ticks finished in, so the drawn ones are all at the start.
+            var count = 0;
+            while (count < undrawn.size && undrawnTicks.get(count) <= tick) {
+                drawn.add(now - undrawn.get(count));
+                count++;
+            }
+            if (count > 0) {
+                undrawn.removeRange(0, count - 1);
+                undrawnTicks.removeRange(0, count - 1);
+                undrawnSize = undrawn.size;
+            }
+        }
+    }
+
+    /**
+     * From the key event arriving, until it's handed to the entities.
+     */
+    public LatencyHistogram getQueued() {
+        return queued;
+    }
+
+    /**
+     * From the key event arriving, until the end of the game tick it was handed to the entities in.
+     */
+    public LatencyHistogram getTicked() {
+        return ticked;
+    }
+
+    /**
+     * From the key event arriving, until the first frame drawing its game tick is done.
+     */
+    public LatencyHistogram getDrawn() {
+        return drawn;
+    }
+}
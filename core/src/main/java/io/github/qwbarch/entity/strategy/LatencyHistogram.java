@@ -0,0 +1,132 @@
+package io.github.qwbarch.entity.strategy;
+
+/**
+ * Counts latencies into log-linear buckets, the same way HdrHistogram does: every power of 2 is split into
+ * 16 buckets of the same size, so a bucket is never wider than a 16th of the latencies it holds.
+ * Latencies are counted in nanoseconds, from 0 up to about 4.3 seconds (2^32 nanoseconds).
+ * <p/>
+ * Unlike a {@link SampleWindow}, this keeps every sample ever added (just not exactly), so a whole run
+ * can be exported at the end. Adding a sample never allocates.
+ * <p/>
+ * Only one thread may add samples. Reading from another thread may be off by a sample, which is fine for
+ * displaying them.
+ */
+public final class LatencyHistogram {
+    /**
+     * Latencies below 2^SUB_BUCKET_BITS nanoseconds get a bucket each. Every power of 2 after that is split
+     * into half as many buckets.
+     */
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_HALF_BITS = SUB_BUCKET_BITS - 1;
+    private static final long SUB_BUCKET_MASK = (1L << SUB_BUCKET_BITS) - 1L;
+
+    /**
+     * Latencies are tracked up to 2^MAX_BITS nanoseconds, anything larger goes into the last bucket.
+     */
+    private static final int MAX_BITS = 32;
+
+    /**
+     * The number of buckets, including the last bucket which holds every latency that's too large to track.
+     * The latencies below 2^SUB_BUCKET_BITS take up as many buckets as two powers of 2 after them.
+     */
+    public static final int BUCKETS = ((MAX_BITS - SUB_BUCKET_BITS + 2) << SUB_BUCKET_HALF_BITS) + 1;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count = 0L;
+    private long sum = 0L;
+    private long max = 0L;
+
+    /**
+     * @param nanos The latency in nanoseconds.
+     */
+    public void add(long nanos) {
+        nanos = Math.max(0L, nanos);
+        counts[getBucket(nanos)]++;
+        count++;
+        sum += nanos;
+        max = Math.max(max, nanos);
+    }
+
+    /**
+     * The bucket the latency is counted in.
+     */
+    private static int getBucket(long nanos) {
+        if (nanos >= 1L << MAX_BITS) return BUCKETS - 1;
+
+        // How many bits the latency is shifted by, so only its highest SUB_BUCKET_BITS bits are left.
+        var magnitude = 64 - Long.numberOfLeadingZeros(nanos | SUB_BUCKET_MASK) - SUB_BUCKET_BITS;
+        return (magnitude << SUB_BUCKET_HALF_BITS) + (int) (nanos >>> magnitude);
+    }
+
+    /**
+     * The smallest latency in the bucket in nanoseconds.
+     */
+    public static long getLowerBound(int bucket) {
+        if (bucket == BUCKETS - 1) return 1L << MAX_BITS;
+        var magnitude = Math.max(0, (bucket >> SUB_BUCKET_HALF_BITS) - 1);
+        return (long) (bucket - (magnitude << SUB_BUCKET_HALF_BITS)) << magnitude;
+    }
+
+    /**
+     * The largest latency in the bucket in nanoseconds, or Long.MAX_VALUE for the last bucket.
+     */
+    public static long getUpperBound(int bucket) {
+        return bucket == BUCKETS - 1 ? Long.MAX_VALUE : getLowerBound(bucket + 1) - 1L;
+    }
+
+    /**
+     * The number of samples in the bucket.
+     */
+    public long getBucketCount(int bucket) {
+        return counts[bucket];
+    }
+
+    /**
+     * The number of samples added.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * The mean of every sample in nanoseconds, or 0 if there aren't any.
+     */
+    public double getMean() {
+        return count == 0L ? 0d : (double) sum / count;
+    }
+
+    /**
+     * The largest sample in nanoseconds, or 0 if there aren't any.
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * The upper bound of the bucket holding the given percentile in nanoseconds, or 0 if there aren't any samples.
+     * The largest sample is used instead if it's smaller, so this never over-reports by more than a bucket.
+     * @param percentile Between 0 and 1, for example 0.99 for the 99th percentile.
+     */
+    public long getPercentile(double percentile) {
+        if (count == 0L) return 0L;
+        var target = Math.max(1L, (long) Math.ceil(percentile * count));
+        var seen = 0L;
+        for (var i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= target) return Math.min(getUpperBound(i), max);
+        }
+        return max;
+    }
+
+    /**
+     * Forget every sample.
+     */
+    public void clear() {
+        for (var i = 0; i < BUCKETS; i++) {
+            counts[i] = 0L;
+        }
+        count = 0L;
+        sum = 0L;
+        max = 0L;
+    }
+}
@@ -0,0 +1,14 @@
+package io.github.qwbarch.entity.strategy;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a component mapper that's only used for reading components.
+ * Component mappers without this are assumed to modify their components, see {@link SystemScheduler}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface ReadOnly { }
@@ -0,0 +1,109 @@
+package io.github.qwbarch.entity.strategy;
+
+import java.util.Arrays;
+
+/**
+ * A sliding window over the latest samples, stored in a ring buffer allocated up front.
+ * Adding a sample never allocates. Statistics are computed when asked for, since they're read far less often
+ * than samples are added.
+ */
+public final class SampleWindow {
+    private final long[] samples;
+
+    /**
+     * Scratch space for sorting the samples when computing percentiles.
+     */
+    private final long[] sorted;
+
+    /**
+     * Where the next sample is written to.
+     */
+    private int next = 0;
+
+    /**
+     * The number of samples in the window, up to its capacity.
+     */
+    private int count = 0;
+
+    /**
+     * Sum of every sample in the window, for the mean.
+     */
+    private long sum = 0L;
+
+    private long last = 0L;
+
+    /**
+     * @param capacity The number of samples kept in the window.
+     */
+    public SampleWindow(int capacity) {
+        samples = new long[capacity];
+        sorted = new long[capacity];
+    }
+
+    public void add(long sample) {
+        // Replace the oldest sample once the window is full.
+        if (count == samples.length) {
+            sum -= samples[next];
+        } else {
+            count++;
+        }
+        samples[next] = sample;
+        sum += sample;
+        last = sample;
+        next = (next + 1) % samples.length;
+    }
+
+    /**
+     * The number of samples in the window.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * The latest sample, or 0 if there aren't any.
+     */
+    public long getLast() {
+        return last;
+    }
+
+    /**
+     * The mean of every sample in the window, or 0 if there aren't any.
+     */
+    public double getMean() {
+        return count == 0 ? 0d : (double) sum / count;
+    }
+
+    /**
+     * The largest sample in the window, or 0 if there aren't any.
+     */
+    public long getMax() {
+        var max = 0L;
+        for (var i = 0; i < count; i++) {
+            max = Math.max(max, samples[i]);
+        }
+        return max;
+    }
+
+    /**
+     * The sample that the given fraction of samples are less than or equal to, or 0 if there aren't any.
+     * @param percentile Between 0 and 1, for example 0.99 for the 99th percentile.
+     */
+    public long getPercentile(double percentile) {
+        if (count == 0) return 0L;
+        System.arraycopy(samples, 0, sorted, 0, count);
+        Arrays.sort(sorted, 0, count);
+        var index = (int) Math.ceil(percentile * count) - 1;
+        return sorted[Math.max(0, Math.min(count - 1, index))];
+    }
+
+    /**
+     * Forget every sample.
+     */
+    public void clear() {
+        next = 0;
+        count = 0;
+        sum = 0L;
+        last = 0L;
+    }
+}
@@ -0,0 +1,228 @@
+package io.github.qwbarch.entity.strategy;
+
+import com.artemis.Aspect;
+import com.artemis.ComponentMapper;
+import com.artemis.EntitySubscription;
+import com.artemis.World;
+import io.github.qwbarch.Clock;
+import io.github.qwbarch.entity.component.Position;
+import io.github.qwbarch.entity.component.Size;
+import io.github.qwbarch.entity.component.Sprite;
+import io.github.qwbarch.entity.physics.PhysicsStore;
+import io.github.qwbarch.entity.snapshot.RenderSnapshot;
+import io.github.qwbarch.entity.snapshot.TripleBuffer;
+import io.github.qwbarch.entity.system.InputSystem;
+import io.github.qwbarch.entity.system.RenderSystem;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs the logic systems on a dedicated thread, instead of on the render thread.
+ * <p/>
+ * Normally, every frame processes the world, which catches up on game ticks and then renders.
+ * A slow game tick then holds up the frame, and rendering as fast as possible competes with the game ticks
+ * for the same core. With this enabled, the simulation thread processes one game tick every secondsPerTick,
+ * and publishes a snapshot of every drawable entity after each tick. The render thread only ever draws the
+ * latest snapshot, and never touches the world while the simulation thread is running.
+ * <p/>
+ * Input events arrive on the render thread, so they're queued up and handed to the entities on the
+ * simulation thread at the start of every game tick (see {@link InputSystem}).
+ * <p/>
+ * This is a singleton, so one instance is used for the entire game.
+ */
+@Singleton
+public final class SimulationThread {
+    /**
+     * If the simulation falls this many game ticks behind, it stops trying to catch up.
+     * This avoids the spiral of death, same as the invocation strategy's cap.
+     */
+    private static final int MAX_TICKS_BEHIND = 25;
+
+    // Dependencies injected via dagger.
+    private final World world;
+    private final FixedTimestepInvocationStrategy strategy;
+    private final RenderSystem renderSystem;
+    private final PhysicsStore store;
+    private final Clock clock;
+    private final long nanosPerTick;
+    private final boolean enabled;
+
+    /**
+     * Snapshots handed from the simulation thread to the render thread.
+     */
+    private final TripleBuffer<RenderSnapshot> snapshots = new TripleBuffer<>(RenderSnapshot::new);
+
+    // Only accessed once the world is available.
+    private EntitySubscription drawables;
+    private ComponentMapper<Sprite> sprites;
+
+    private Thread thread;
+    private volatile boolean running = false;
+
+    /**
+     * Set if the simulation thread crashed, so the render thread can rethrow it.
+     */
+    private volatile Throwable failure;
+
+    // Package-private constructor since dagger injects the dependencies.
+    @Inject
+    SimulationThread(
+        World world,
+        FixedTimestepInvocationStrategy strategy,
+        RenderSystem renderSystem,
+        PhysicsStore store,
+        Clock clock,
+        @Named("secondsPerTick") float secondsPerTick,
+        @Named("simulationThread") boolean enabled
+    ) {
+        this.world = world;
+        this.strategy = strategy;
+        this.renderSystem = renderSystem;
+        this.store = store;
+        this.clock = clock;
+        this.nanosPerTick = (long) (secondsPerTick * 1_000_000_000L);
+        this.enabled = enabled;
+    }
+
+    /**
+     * Whether or not the world should be processed on the simulation thread.
+     * If disabled, the world is processed on the render thread like usual.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Start processing the world on the simulation thread. Does nothing if it's already running.
+     * Must be called from the render thread.
+     */
+    public void start() {
+        if (thread != null) return;
+
+        if (drawables == null) {
+            drawables = world.getAspectSubscriptionManager().get(Aspect.all(Position.class, Size.class, Sprite.class));
+            sprites = world.getMapper(Sprite.class);
+        }
+
+        strategy.setManualStepping(true);
+        strategy.setLogicOnly(true);
+
+        // The latest snapshot may be from before the level was retried (or from another level entirely),
+        // so publish the world as it is now, for the frames drawn before the first game tick is done.
+        strategy.flushEntityStates();
+        publishSnapshot();
+
+        running = true;
+        thread = new Thread(this::run, "simulation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stop processing the world on the simulation thread, waiting for the current game tick to finish.
+     * Does nothing if it isn't running. Must be called from the render thread.
+     * The world is safe to use from the render thread again once this returns.
+     */
+    public void stop() {
+        if (thread == null) return;
+
+        running = false;
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+
+        strategy.setLogicOnly(false);
+        strategy.setManualStepping(false);
+    }
+
+    /**
+     * Draw the latest snapshot.
+     * Must be called from the render thread, in-between batch.begin() and batch.end().
+     */
+    public void render() {
+        if (failure != null) throw new RuntimeException("Simulation thread crashed.", failure);
+
+        // The snapshot holds the two latest game ticks.
+        // Interpolate between them based on how long ago the latest one finished.
+        // Game ticks are shorter or longer in real time depending on the time scale.
+        // The unbounded and frozen time scales don't interpolate, and draw the latest game tick as is.
+        var snapshot = snapshots.read();
+        var timeScale = strategy.getTimeScale();
+        var alpha = timeScale == 0f || timeScale == FixedTimestepInvocationStrategy.TIME_SCALE_UNBOUNDED
+            ? 1f
+            : Math.min(1f, Math.max(0f, (clock.nanoTime() - snapshot.publishedAt) * timeScale / nanosPerTick));
+        renderSystem.render(snapshot, alpha);
+    }
+
+    private void run() {
+        try {
+            var nextTick = clock.nanoTime();
+            while (running) {
+                var now = clock.nanoTime();
+
+                // The game is frozen, check the time scale again after a game tick's worth of time.
+                var timeScale = strategy.getTimeScale();
+                if (timeScale == 0f) {
+                    LockSupport.parkNanos(nanosPerTick);
+                    nextTick = clock.nanoTime();
+                    continue;
+                }
+
+                if (now < nextTick) {
+                    LockSupport.parkNanos(nextTick - now);
+                    continue;
+                }
+
+                // Manual stepping is enabled, so this runs exactly one game tick.
+                world.process();
+                publishSnapshot();
+
+                // An unbounded time scale runs the next game tick right away.
+                var nanosPerScaledTick = timeScale == FixedTimestepInvocationStrategy.TIME_SCALE_UNBOUNDED
+                    ? 0L
+                    : (long) (nanosPerTick / timeScale);
+                nextTick += nanosPerScaledTick;
+                if (now - nextTick > nanosPerScaledTick * MAX_TICKS_BEHIND) {
+                    nextTick = now;
+                }
+            }
+        } catch (Throwable throwable) {
+            failure = throwable;
+            running = false;
+        }
+    }
+
+    /**
+     * Copy every drawable entity into the write buffer, and hand it over to the render thread.
+     */
+    private void publishSnapshot() {
+        var snapshot = snapshots.getWriteBuffer();
+        var entities = drawables.getEntities();
+        snapshot.reset(entities.size());
+        for (var i = 0; i < entities.size(); i++) {
+            var entityId = entities.get(i);
+            var texture = sprites.get(entityId).texture;
+            var slot = store.getSlot(entityId);
+            if (texture != null && slot >= 0) {
+                snapshot.add(
+                    texture,
+                    store.previousX[slot],
+                    store.previousY[slot],
+                    store.x[slot],
+                    store.y[slot],
+                    store.width[slot],
+                    store.height[slot]
+                );
+            }
+        }
+        snapshot.publishedAt = clock.nanoTime();
+        snapshot.tick = strategy.getTick();
+        snapshots.publish();
+    }
+}
@@ -0,0 +1,36 @@
+package io.github.qwbarch.entity.strategy;
+
+import com.artemis.World;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares what a system touches, on top of what the {@link SystemScheduler} already figures out on its own
+ * (the components in the system's aspect, and its component mappers).
+ * <p/>
+ * Anything can be listed here, not just components (for example, the PhysicsStore).
+ * Listing {@link World} under writes means the system may create or delete entities, which makes it conflict with
+ * every other system. Components it adds to or removes from existing entities still need to be listed under writes
+ * (unless the system has a component mapper for them), so that access checks can tell them apart.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface SystemAccess {
+    /**
+     * What the system reads, but never modifies.
+     */
+    Class<?>[] reads() default {};
+
+    /**
+     * What the system modifies.
+     */
+    Class<?>[] writes() default {};
+
+    /**
+     * Whether or not the system must run on the thread processing the world (for example, if it makes GL calls).
+     */
+    boolean confined() default false;
+}
@@ -0,0 +1,124 @@
+package io.github.qwbarch.entity.strategy;
+
+import com.artemis.BaseSystem;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+/**
+ * Records how long every system takes to process, along with how many game ticks each frame runs
+ * and how much time the accumulator has built up at the start of each frame.
+ * <p/>
+ * Every system gets its own {@link SampleWindow} when the world is created, so recording never allocates.
+ * Samples are in nanoseconds. Recording is skipped entirely while the profiler is disabled.
+ * <p/>
+ * If the world is processed on the simulation thread, the samples are written on that thread.
+ * Reading them from the render thread may then be off by a sample, which is fine for displaying them.
+ * <p/>
+ * This is a singleton, so one instance is used for the entire game.
+ */
+@Singleton
+public final class SystemProfiler {
+    /**
+     * The number of samples kept per window. At 60 game ticks per second, this is the last 4 seconds.
+     */
+    public static final int WINDOW_SIZE = 240;
+
+    private final Array<BaseSystem> systems = new Array<>();
+    private final ObjectMap<BaseSystem, SampleWindow> systemTimings = new ObjectMap<>();
+    private final SampleWindow ticksPerFrame = new SampleWindow(WINDOW_SIZE);
+    private final SampleWindow accumulatorBacklog = new SampleWindow(WINDOW_SIZE);
+
+    private volatile boolean enabled;
+
+    // Package-private constructor since dagger injects the dependencies.
+    @Inject
+    SystemProfiler(@Named("profileSystems") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Start or stop recording. The recorded samples are cleared when recording starts,
+     * so the windows don't mix in samples from before the pause.
+     */
+    public void setEnabled(boolean enabled) {
+        if (enabled && !this.enabled) {
+            for (var timings : systemTimings.values()) {
+                timings.clear();
+            }
+            ticksPerFrame.clear();
+            accumulatorBacklog.clear();
+        }
+        this.enabled = enabled;
+    }
+
+    /**
+     * Allocate a window for the system. Called by the invocation strategy for each of its systems.
+     */
+    void register(BaseSystem system) {
+        if (!systemTimings.containsKey(system)) {
+            systems.add(system);
+            systemTimings.put(system, new SampleWindow(WINDOW_SIZE));
+        }
+    }
+
+    /**
+     * Process the system, recording how long it took if the profiler is enabled.
+     */
+    void process(BaseSystem system) {
+        if (!enabled) {
+            system.process();
+            return;
+        }
+
+        var start = System.nanoTime();
+        system.process();
+        var timings = systemTimings.get(system);
+        if (timings != null) timings.add(System.nanoTime() - start);
+    }
+
+    /**
+     * Record a frame.
+     * @param ticks The number of game ticks the frame ran.
+     * @param backlogNanos The time the accumulator held at the start of the frame, waiting to be simulated.
+     */
+    void recordFrame(int ticks, long backlogNanos) {
+        ticksPerFrame.add(ticks);
+        accumulatorBacklog.add(backlogNanos);
+    }
+
+    /**
+     * Every profiled system, in the order they were registered in.
+     */
+    public Array<BaseSystem> getSystems() {
+        return systems;
+    }
+
+    /**
+     * Processing times of the given system, or null if the system isn't profiled.
+     */
+    public SampleWindow getSystemTimings(BaseSystem system) {
+        return systemTimings.get(system);
+    }
+
+    /**
+     * The number of game ticks run per frame.
+     */
+    public SampleWindow getTicksPerFrame() {
+        return ticksPerFrame;
+    }
+
+    /**
+     * The time the accumulator held at the start of each frame, in nanoseconds.
+     */
+    public SampleWindow getAccumulatorBacklog() {
+        return accumulatorBacklog;
+    }
+}
@@ -0,0 +1,341 @@
+package io.github.qwbarch.entity.strategy;
+
+import com.artemis.Aspect;
+import com.artemis.BaseEntitySystem;
+import com.artemis.BaseSystem;
+import com.artemis.Component;
+import com.artemis.ComponentMapper;
+import com.artemis.EntitySubscription;
+import com.artemis.World;
+import com.artemis.annotations.All;
+import com.artemis.annotations.One;
+import com.artemis.utils.IntBag;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ArrayMap;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntSet;
+import com.badlogic.gdx.utils.ObjectSet;
+
+import java.lang.reflect.ParameterizedType;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs systems that don't touch the same data at the same time, on a fork-join pool.
+ * <p/>
+ * What each system reads and writes is figured out through reflection, once:
+ * <ul>
+ *     <li>Components in the system's aspect (@All, @One) are read.</li>
+ *     <li>Components with a component mapper are written, unless the mapper is marked {@link ReadOnly}.</li>
+ *     <li>Anything else is declared through {@link SystemAccess}.</li>
+ * </ul>
+ * Two systems conflict if either one writes something the other one touches. Conflicting systems keep
+ * the order they were registered in, which gives a dependency graph. The graph is split up into waves, where
+ * every system only depends on systems from earlier waves. The systems in a wave run concurrently, and entity
+ * states are updated in-between waves.
+ * <p/>
+ * Field writes through a component mapper can't be observed, so a system has to be honest about what it touches.
+ * With access checks enabled, systems instead run one at a time, and any component added or removed (or any entity
+ * created or deleted) by a system that didn't declare it is reported, since it would race with the systems
+ * scheduled next to it. Systems writing to the World may create and delete entities, but components they add to
+ * or remove from the entities that stick around are still checked.
+ */
+final class SystemScheduler {
+    /**
+     * What a system reads and writes.
+     */
+    private static final class Access {
+        private final ObjectSet<Class<?>> reads = new ObjectSet<>();
+        private final ObjectSet<Class<?>> writes = new ObjectSet<>();
+        private boolean confined = false;
+
+        private boolean writesAnything() {
+            return writes.contains(World.class);
+        }
+
+        private boolean touches(Class<?> type) {
+            return reads.contains(type) || writes.contains(type);
+        }
+
+        private boolean conflictsWith(Access other) {
+            if (writesAnything() || other.writesAnything()) return true;
+            for (var type : writes) {
+                if (other.touches(type)) return true;
+            }
+            for (var type : other.writes) {
+                if (touches(type)) return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Processes a single system, so it can be forked onto the pool.
+     * The same task is re-used every game tick to avoid creating garbage.
+     */
+    private static final class SystemTask extends RecursiveAction {
+        private final BaseSystem system;
+        private final SystemProfiler profiler;
+
+        private SystemTask(BaseSystem system, SystemProfiler profiler) {
+            this.system = system;
+            this.profiler = profiler;
+        }
+
+        @Override
+        protected void compute() {
+            profiler.process(system);
+        }
+    }
+
+    private final ForkJoinPool pool = ForkJoinPool.commonPool();
+    private final SystemProfiler profiler;
+    private final boolean checkAccess;
+
+    /**
+     * Systems sorted by wave, keeping the registration order within a wave.
+     */
+    private final BaseSystem[] systems;
+    private final Access[] accesses;
+    private final SystemTask[] tasks;
+
+    /**
+     * The index (into systems) where each wave ends.
+     */
+    private final int[] waveEnds;
+
+    /**
+     * Structural changes seen since the last check, when access checks are enabled.
+     * Entities created or deleted, and every component added or removed along with the entity it belongs to.
+     */
+    private final IntSet changedEntities = new IntSet();
+    private final Array<Class<?>> changedComponentTypes = new Array<>();
+    private final IntArray changedComponentEntities = new IntArray();
+
+    /**
+     * @param systems The systems to schedule, in the order they were registered in.
+     * @param profiler Records how long each system takes, if enabled.
+     * @param checkAccess Run systems one at a time, reporting structural changes they didn't declare.
+     */
+    SystemScheduler(World world, Array<BaseSystem> systems, SystemProfiler profiler, boolean checkAccess) {
+        this.profiler = profiler;
+        this.checkAccess = checkAccess;
+
+        // Assign every system to the wave after the latest system it conflicts with.
+        var size = systems.size;
+        var unsortedAccesses = new Access[size];
+        var waves = new int[size];
+        var waveCount = 0;
+        for (var i = 0; i < size; i++) {
+            unsortedAccesses[i] = getAccess(systems.get(i));
+            for (var j = 0; j < i; j++) {
+                if (unsortedAccesses[i].conflictsWith(unsortedAccesses[j])) {
+                    waves[i] = Math.max(waves[i], waves[j] + 1);
+                }
+            }
+            waveCount = Math.max(waveCount, waves[i] + 1);
+        }
+
+        this.systems = new BaseSystem[size];
+        this.accesses = new Access[size];
+        this.tasks = new SystemTask[size];
+        this.waveEnds = new int[waveCount];
+        var index = 0;
+        for (var wave = 0; wave < waveCount; wave++) {
+            for (var i = 0; i < size; i++) {
+                if (waves[i] == wave) {
+                    this.systems[index] = systems.get(i);
+                    this.accesses[index] = unsortedAccesses[i];
+                    this.tasks[index] = new SystemTask(systems.get(i), profiler);
+                    index++;
+                }
+            }
+            waveEnds[wave] = index;
+        }
+
+        if (checkAccess) watchStructuralChanges(world);
+    }
+
+    /**
+     * Figure out what the system reads and writes.
+     */
+    private static Access getAccess(BaseSystem system) {
+        var access = new Access();
+        var type = system.getClass();
+
+        // Components in the aspect are read. Iterating over the entities also reads the world's entities.
+        var all = type.getAnnotation(All.class);
+        if (all != null) access.reads.addAll(all.value());
+        var one = type.getAnnotation(One.class);
+        if (one != null) access.reads.addAll(one.value());
+        if (system instanceof BaseEntitySystem) access.reads.add(World.class);
+
+        // Component mappers, including the ones declared by a parent system.
+        for (Class<?> current = type; current != null && current != BaseSystem.class; current = current.getSuperclass()) {
+            for (var field : current.getDeclaredFields()) {
+                if (field.getType() == ComponentMapper.class
+                    && field.getGenericType() instanceof ParameterizedType parameterizedType
+                    && parameterizedType.getActualTypeArguments()[0] instanceof Class<?> componentType
+                ) {
+                    if (field.isAnnotationPresent(ReadOnly.class)) access.reads.add(componentType);
+                    else access.writes.add(componentType);
+                }
+            }
+        }
+
+        var declared = type.getAnnotation(SystemAccess.class);
+        if (declared != null) {
+            access.reads.addAll(declared.reads());
+            access.writes.addAll(declared.writes());
+            access.confined = declared.confined();
+        }
+        return access;
+    }
+
+    /**
+     * Listen for entities being created or deleted, and for every known component being added or removed.
+     * Only components some system knows about can be watched, since the listeners have to exist up front.
+     */
+    @SuppressWarnings("unchecked")
+    private void watchStructuralChanges(World world) {
+        var subscriptions = world.getAspectSubscriptionManager();
+        subscriptions.get(Aspect.all()).addSubscriptionListener(new EntitySubscription.SubscriptionListener() {
+            @Override
+            public void inserted(IntBag entities) {
+                for (var i = 0; i < entities.size(); i++) {
+                    changedEntities.add(entities.get(i));
+                }
+            }
+
+            @Override
+            public void removed(IntBag entities) {
+                for (var i = 0; i < entities.size(); i++) {
+                    changedEntities.add(entities.get(i));
+                }
+            }
+        });
+
+        var componentTypes = new ObjectSet<Class<? extends Component>>();
+        for (var access : accesses) {
+            for (var type : access.reads) {
+                if (Component.class.isAssignableFrom(type)) componentTypes.add((Class<? extends Component>) type);
+            }
+            for (var type : access.writes) {
+                if (Component.class.isAssignableFrom(type)) componentTypes.add((Class<? extends Component>) type);
+            }
+        }
+        for (var componentType : componentTypes) {
+            subscriptions.get(Aspect.all(componentType)).addSubscriptionListener(new EntitySubscription.SubscriptionListener() {
+                @Override
+                public void inserted(IntBag entities) {
+                    componentsChanged(componentType, entities);
+                }
+
+                @Override
+                public void removed(IntBag entities) {
+                    componentsChanged(componentType, entities);
+                }
+            });
+        }
+    }
+
+    private void componentsChanged(Class<?> componentType, IntBag entities) {
+        for (var i = 0; i < entities.size(); i++) {
+            changedComponentTypes.add(componentType);
+            changedComponentEntities.add(entities.get(i));
+        }
+    }
+
+    /**
+     * Process every enabled system.
+     * @param enabled Whether or not each system is enabled.
+     * @param updateEntityStates Applies pending entity changes. Called after every wave.
+     */
+    void process(ArrayMap<BaseSystem, Boolean> enabled, Runnable updateEntityStates) {
+        if (checkAccess) {
+            processChecked(enabled, updateEntityStates);
+            return;
+        }
+
+        var start = 0;
+        for (var end : waveEnds) {
+            // Fork everything that doesn't have to stay on this thread, then run the rest here.
+            for (var i = start; i < end; i++) {
+                if (!accesses[i].confined && enabled.get(systems[i])) {
+                    tasks[i].reinitialize();
+                    pool.execute(tasks[i]);
+                }
+            }
+            for (var i = start; i < end; i++) {
+                if (accesses[i].confined && enabled.get(systems[i])) {
+                    profiler.process(systems[i]);
+                }
+            }
+            for (var i = start; i < end; i++) {
+                if (!accesses[i].confined && enabled.get(systems[i])) {
+                    tasks[i].join();
+                }
+            }
+            updateEntityStates.run();
+            start = end;
+        }
+    }
+
+    private void processChecked(ArrayMap<BaseSystem, Boolean> enabled, Runnable updateEntityStates) {
+        clearStructuralChanges();
+
+        for (var i = 0; i < systems.length; i++) {
+            if (!enabled.get(systems[i])) continue;
+
+            profiler.process(systems[i]);
+            updateEntityStates.run();
+
+            var access = accesses[i];
+            var name = systems[i].getClass().getSimpleName();
+            if (!access.writesAnything() && !changedEntities.isEmpty()) {
+                throw new IllegalStateException(
+                    name + " created or deleted entities without declaring write access to the World."
+                );
+            }
+
+            // Components of created or deleted entities come and go with the entity, which was checked above.
+            for (var j = 0; j < changedComponentTypes.size; j++) {
+                var componentType = changedComponentTypes.get(j);
+                if (!access.writes.contains(componentType)
+                    && !changedEntities.contains(changedComponentEntities.get(j))
+                ) {
+                    throw new IllegalStateException(
+                        name + " added or removed " + componentType.getSimpleName()
+                            + " components without declaring write access to them."
+                    );
+                }
+            }
+            clearStructuralChanges();
+        }
+    }
+
+    private void clearStructuralChanges() {
+        changedEntities.clear();
+        changedComponentTypes.clear();
+        changedComponentEntities.clear();
+    }
+
+    /**
+     * Lists the systems in every wave, for debugging the schedule.
+     */
+    @Override
+    public String toString() {
+        var builder = new StringBuilder();
+        var start = 0;
+        for (var wave = 0; wave < waveEnds.length; wave++) {
+            builder.append("Wave ").append(wave).append(':');
+            for (var i = start; i < waveEnds[wave]; i++) {
+                builder.append(' ').append(systems[i].getClass().getSimpleName());
+                if (accesses[i].confined) builder.append(" (confined)");
+            }
+            builder.append('\n');
+            start = waveEnds[wave];
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,148 @@
+package io.github.qwbarch.entity.system;
+
+import com.artemis.BaseSystem;
+import com.artemis.ComponentMapper;
+import com.artemis.World;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.math.RandomXS128;
+import dagger.Lazy;
+import io.github.qwbarch.asset.AssetMap;
+import io.github.qwbarch.entity.EntitySpawner;
+import io.github.qwbarch.entity.component.Brick;
+import io.github.qwbarch.entity.component.Hitpoints;
+import io.github.qwbarch.entity.component.PlayerHealth;
+import io.github.qwbarch.entity.component.Position;
+import io.github.qwbarch.entity.component.Size;
+import io.github.qwbarch.entity.component.Sprite;
+import io.github.qwbarch.entity.component.Target;
+import io.github.qwbarch.entity.physics.CollisionEventQueue;
+import io.github.qwbarch.entity.strategy.ReadOnly;
+import io.github.qwbarch.entity.strategy.SystemAccess;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+/**
+ * Handles bricks getting hit, by going through the game tick's collisions after every entity is done moving.
+ * Every brick is handled the same way using only its components, so bricks don't need a collision listener each.
+ * <p/>
+ * This runs at the end of every game tick (like a logic system), right after the {@link MovementCollisionSystem}.
+ * Hitting a brick can spawn entities and change their composition, so this is never run alongside other systems.
+ * This is a singleton, so one instance is used for the entire game.
+ */
+// Destroyed bricks are parked by removing their Position and Target, and re-used dropping balls get their Position
+// and PlayerHealth back.
+@SystemAccess(
+    reads = CollisionEventQueue.class,
+    writes = {World.class, Position.class, Target.class, PlayerHealth.class}
+)
+@Singleton
+public final class BrickSystem extends BaseSystem implements TickSystem {
+    /**
+     * Bricks starting with more hit points than this change colour based on the percentage of hit points left,
+     * instead of the exact amount.
+     */
+    private static final int MAX_FIXED_THRESHOLD_HITPOINTS = 3;
+
+    // Dependencies injected via dagger.
+    private final CollisionEventQueue collisionEvents;
+    private final AssetMap assets;
+    private final RandomXS128 random;
+    private final float spawnBallChance;
+    private final int collisionCooldownTicks;
+
+    // The spawner depends on the world, which depends on this system.
+    private final Lazy<EntitySpawner> spawner;
+
+    // Component mappers are automatically injected via artemis-odb,
+    // which gives access to the entity's components.
+    private ComponentMapper<Hitpoints> hitpointsMapper;
+    private ComponentMapper<Brick> bricks;
+    private ComponentMapper<Sprite> sprites;
+    @ReadOnly
+    private ComponentMapper<Position> positions;
+    @ReadOnly
+    private ComponentMapper<Size> sizes;
+
+    // Package-private constructor since dagger injects the dependencies.
+    @Inject
+    BrickSystem(
+        CollisionEventQueue collisionEvents,
+        AssetMap assets,
+        RandomXS128 random,
+        Lazy<EntitySpawner> spawner,
+        @Named("spawnBallChance") float spawnBallChance,
+        @Named("collisionCooldownTicks") int collisionCooldownTicks
+    ) {
+        this.collisionEvents = collisionEvents;
+        this.assets = assets;
+        this.random = random;
+        this.spawner = spawner;
+        this.spawnBallChance = spawnBallChance;
+        this.collisionCooldownTicks = collisionCooldownTicks;
+    }
+
+    /**
+     * Set up the brick's colour thresholds for the hit points it starts with.
+     */
+    public void setThresholds(Brick brick, int startHitpoints) {
+        if (startHitpoints > MAX_FIXED_THRESHOLD_HITPOINTS) {
+            brick.yellowThreshold = (int) (startHitpoints * 0.6f);
+            brick.redThreshold = (int) (startHitpoints * 0.3f);
+        } else {
+            brick.yellowThreshold = 2;
+            brick.redThreshold = 1;
+        }
+    }
+
+    /**
+     * The texture of a brick with the given hit points.
+     * The textures are looked up every time, since the world is created before the assets finish loading
+     * (and nothing is ever loaded when running headless).
+     */
+    public Texture getTexture(Brick brick, int hitpoints) {
+        if (hitpoints > brick.yellowThreshold) return assets.getGreenBrickTexture();
+        if (hitpoints > brick.redThreshold) return assets.getYellowBrickTexture();
+        return assets.getRedBrickTexture();
+    }
+
+    @Override
+    protected void processSystem() {
+        // Collisions are handled in the order they happened in, so dropping balls are spawned in the same order.
+        for (var i = 0; i < collisionEvents.size(); i++) {
+            var brickId = collisionEvents.getCollidableId(i);
+            if (bricks.has(brickId)) hit(brickId, collisionEvents.getTick(i));
+        }
+    }
+
+    private void hit(int brickId, int tick) {
+        var hitpoints = hitpointsMapper.get(brickId);
+
+        // Only allow the brick to be "hit" on a cooldown,
+        // to prevent it from constantly being triggered every game tick if
+        // the ball is still triggering collisions.
+        if (hitpoints.value <= 0 || tick - hitpoints.lastHitTick <= collisionCooldownTicks) return;
+
+        // Remove 1 health point from the brick.
+        hitpoints.value -= 1;
+        hitpoints.lastHitTick = tick;
+
+        // Spawn a dropping ball at the specified chance.
+        if (random.nextFloat() < spawnBallChance) {
+            var position = positions.get(brickId);
+            var size = sizes.get(brickId);
+            spawner.get().spawnDroppingBall(
+                position.current.x + random.nextFloat() * size.width,
+                position.current.y + random.nextFloat() * size.height
+            );
+        }
+
+        sprites.get(brickId).texture = getTexture(bricks.get(brickId), hitpoints.value);
+
+        // The brick is fully destroyed. It's parked instead of deleted, so retrying the level can bring it back.
+        if (hitpoints.value == 0) {
+            spawner.get().destroyBrick(brickId);
+        }
+    }
+}
@@ -1,44 +1,61 @@
 package io.github.qwbarch.entity.system;
 
+import com.artemis.BaseSystem;
 import com.artemis.ComponentMapper;
-import com.artemis.annotations.All;
+import com.artemis.World;
+import dagger.Lazy;
+import io.github.qwbarch.entity.BallPool;
 import io.github.qwbarch.entity.component.Despawnable;
+import io.github.qwbarch.entity.component.PlayerHealth;
 import io.github.qwbarch.entity.component.Position;
-import io.github.qwbarch.entity.component.Size;
+import io.github.qwbarch.entity.physics.DespawnEventQueue;
+import io.github.qwbarch.entity.strategy.SystemAccess;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
 /**
  * Handles entities who need to be despawned.
+ * The {@link MovementCollisionSystem} records every despawnable entity that falls below the world while moving,
+ * so this only handles the entities actually leaving the world, right after the movement step.
  * This is a singleton, so one instance is used for the entire game.
  */
-@All({Position.class, Size.class, Despawnable.class})
+// Despawned balls are parked in the ball pool by removing their Position and PlayerHealth.
+@SystemAccess(reads = DespawnEventQueue.class, writes = {World.class, Position.class, PlayerHealth.class})
 @Singleton
-public class DespawnSystem extends LogicSystem {
+public class DespawnSystem extends BaseSystem implements TickSystem {
+    // Dependencies injected via dagger.
+    private final DespawnEventQueue despawnEvents;
+
+    // The ball pool depends on the world, which depends on this system.
+    private final Lazy<BallPool> ballPool;
+
     // Component mappers are automatically injected via artemis-odb,
     // which gives access to the entity's components.
-    private ComponentMapper<Position> positions;
-    private ComponentMapper<Size> sizes;
     private ComponentMapper<Despawnable> despawnables;
 
     // Package-private constructor since dagger injects the dependencies.
     @Inject
-    DespawnSystem() {}
+    DespawnSystem(DespawnEventQueue despawnEvents, Lazy<BallPool> ballPool) {
+        this.despawnEvents = despawnEvents;
+        this.ballPool = ballPool;
+    }
 
     @Override
-    protected void process(int entityId) {
-        var position = positions.get(entityId);
-        var size = sizes.get(entityId);
-        var despawnable = despawnables.get(entityId);
+    protected void processSystem() {
+        for (var i = 0; i < despawnEvents.size(); i++) {
+            var entityId = despawnEvents.getEntityId(i);
+
+            // The entity may have been deleted (or lost its Despawnable) by a collision since it was recorded.
+            if (!despawnables.has(entityId)) continue;
 
-        // If the entity is below the world (y = 0).
-        if (position.current.y < -size.height) {
+            var despawnable = despawnables.get(entityId);
             if (despawnable.onDespawn != null) {
                 despawnable.onDespawn.run();
                 despawnable.onDespawn = null;
             }
-            world.delete(entityId);
+            if (despawnable.pooled) ballPool.get().free(entityId);
+            else world.delete(entityId);
         }
     }
 }
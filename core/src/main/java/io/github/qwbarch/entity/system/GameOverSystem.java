@@ -7,28 +7,33 @@ import com.artemis.EntitySubscription;
 import com.artemis.utils.IntBag;
 import io.github.qwbarch.entity.component.PlayerHealth;
 import io.github.qwbarch.entity.component.Target;
-import io.github.qwbarch.screen.LoseScreen;
-import io.github.qwbarch.screen.Screen;
-import io.github.qwbarch.screen.ScreenHandler;
-import io.github.qwbarch.screen.WinScreen;
+import io.github.qwbarch.entity.strategy.ReadOnly;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
- * Handles and checks for the game over condition.
+ * Checks for the game over condition once every game tick.
+ * The outcome is only raised here, and handled by whoever processes the world once it's done processing
+ * (see {@link #takeOutcome()}), since switching screens clears the world and has to happen on the render thread.
  * This is a singleton, so one instance is used for the entire game.
  */
 @Singleton
-public class GameOverSystem extends BaseSystem {
-    // Dependencies injected via dagger.
-    private final ScreenHandler screenHandler;
-    private final Screen loseScreen;
-    private final Screen winScreen;
+public class GameOverSystem extends BaseSystem implements TickSystem {
+    /**
+     * How the level ended.
+     */
+    public enum Outcome {
+        WON,
+        LOST
+    }
 
     // Component mappers are automatically injected via artemis-odb,
     // which gives access to the entity's components.
+    @ReadOnly
     private ComponentMapper<PlayerHealth> playerHealths;
+    @ReadOnly
     private ComponentMapper<Target> targets;
 
     /**
@@ -43,17 +48,20 @@ public class GameOverSystem extends BaseSystem {
      */
     private int remainingTargets;
 
+    /**
+     * Whether or not the outcome was already raised, so it's only raised once per level.
+     */
+    private boolean raised = false;
+
+    /**
+     * The outcome raised but not taken yet. This is shared between threads, since it may be raised on the
+     * simulation thread while being taken on the render thread.
+     */
+    private final AtomicReference<Outcome> outcome = new AtomicReference<>();
+
     // Package-private constructor since dagger injects the dependencies.
     @Inject
-    GameOverSystem(
-        ScreenHandler screenHandler,
-        LoseScreen loseScreen,
-        WinScreen winScreen
-    ) {
-        this.screenHandler = screenHandler;
-        this.loseScreen = loseScreen;
-        this.winScreen = winScreen;
-    }
+    GameOverSystem() {}
 
     @Override
     public void initialize() {
@@ -87,11 +95,34 @@ public class GameOverSystem extends BaseSystem {
 
     @Override
     protected void processSystem() {
-        // Checked once every available render tick.
+        if (raised) return;
+
         if (remainingTargets == 0) {
-            screenHandler.setScreen(winScreen);
+            raise(Outcome.WON);
         } else if (remainingHealth == 0) {
-            screenHandler.setScreen(loseScreen);
+            raise(Outcome.LOST);
         }
     }
+
+    private void raise(Outcome outcome) {
+        raised = true;
+        this.outcome.set(outcome);
+    }
+
+    /**
+     * Take the outcome of the level, if it ended. This needs to be called after the world is done processing.
+     * @return How the level ended, or null if it's still being played (or the outcome was already taken).
+     */
+    public Outcome takeOutcome() {
+        return outcome.getAndSet(null);
+    }
+
+    /**
+     * Forget the outcome, so it can be raised again for the next level.
+     * This must not be called while the world is being processed.
+     */
+    public void reset() {
+        raised = false;
+        outcome.set(null);
+    }
 }
@@ -0,0 +1,111 @@
+package io.github.qwbarch.entity.system;
+
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.LongArray;
+
+/**
+ * A fixed-size queue of input events, handed from the thread receiving input (the render thread)
+ * to the thread processing the world, without locking or allocating.
+ * <p/>
+ * Only one thread may add events, and only one thread may take them. Each side only ever writes its own index,
+ * and publishes it after touching the events, which is all the synchronization needed.
+ * If the queue is full, new events are dropped.
+ */
+final class InputRingBuffer {
+    /**
+     * Every event is stored as a (type, key) pair.
+     */
+    private final int[] events;
+
+    /**
+     * The clock time every event arrived at, for measuring input latency.
+     */
+    private final long[] arrivedAt;
+    private final int mask;
+
+    /**
+     * The total number of events ever added and taken. Only the producer writes to writeIndex,
+     * and only the consumer writes to readIndex.
+     */
+    private volatile long writeIndex = 0L;
+    private volatile long readIndex = 0L;
+
+    /**
+     * Events added before this index were cleared, and are skipped instead of taken. Only the producer writes to it.
+     */
+    private volatile long clearIndex = 0L;
+
+    /**
+     * The number of events dropped since the queue was full. Only written to by the producer.
+     */
+    private volatile long dropped = 0L;
+
+    /**
+     * @param capacity The maximum number of queued events. Must be a power of 2.
+     */
+    InputRingBuffer(int capacity) {
+        if (Integer.bitCount(capacity) != 1) throw new IllegalArgumentException("Capacity must be a power of 2.");
+        events = new int[capacity * 2];
+        arrivedAt = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Queue up an event. Must only be called from the producer thread.
+     * @param time The clock time the event arrived at.
+     * @return False if the queue is full, and the event was dropped.
+     */
+    boolean offer(int type, int key, long time) {
+        // Cleared events are free to overwrite, even if the consumer hasn't skipped them yet.
+        var write = writeIndex;
+        if (write - Math.max(readIndex, clearIndex) > mask) {
+            dropped++;
+            return false;
+        }
+        var index = (int) (write & mask) * 2;
+        events[index] = type;
+        events[index + 1] = key;
+        arrivedAt[(int) (write & mask)] = time;
+        writeIndex = write + 1;
+        return true;
+    }
+
+    /**
+     * Take every queued event, in the order they were added. Must only be called from the consumer thread.
+     * @param output Where the events are appended to, as (type, key) pairs.
+     * @param times Where the clock times the events arrived at are appended to.
+     */
+    void drainTo(IntArray output, LongArray times) {
+        var start = Math.max(readIndex, clearIndex);
+        var write = writeIndex;
+        var outputStart = output.size;
+        var timesStart = times.size;
+        for (var read = start; read < write; read++) {
+            var index = (int) (read & mask) * 2;
+            output.add(events[index], events[index + 1]);
+            times.add(arrivedAt[(int) (read & mask)]);
+        }
+
+        // If the producer cleared the queue while the events were being copied, the cleared ones may have been
+        // overwritten halfway through. They were dropped anyway, so they're removed again.
+        var cleared = (int) (Math.min(clearIndex, write) - start);
+        if (cleared > 0) {
+            output.removeRange(outputStart, outputStart + cleared * 2 - 1);
+            times.removeRange(timesStart, timesStart + cleared - 1);
+        }
+        readIndex = write;
+    }
+
+    /**
+     * Drop every queued event. Must only be called from the producer thread.
+     * The consumer skips the dropped events the next time it takes events, so this is safe to call while
+     * the consumer is taking events. Their space in the queue is freed up right away.
+     */
+    void clear() {
+        clearIndex = writeIndex;
+    }
+
+    long getDropped() {
+        return dropped;
+    }
+}
@@ -4,66 +4,207 @@ import com.artemis.Aspect;
 import com.artemis.BaseSystem;
 import com.artemis.ComponentMapper;
 import com.artemis.EntitySubscription;
-import com.artemis.utils.IntBag;
+import com.artemis.World;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.InputAdapter;
 import com.badlogic.gdx.InputMultiplexer;
 import com.badlogic.gdx.InputProcessor;
-import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.LongArray;
+import dagger.Lazy;
+import io.github.qwbarch.entity.EntitySpawner;
+import io.github.qwbarch.entity.component.Collider;
 import io.github.qwbarch.entity.component.InputListener;
+import io.github.qwbarch.entity.component.LinearVelocity;
+import io.github.qwbarch.entity.strategy.InputLatency;
+import io.github.qwbarch.entity.strategy.SystemAccess;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
 /**
  * Handles player input.
+ * Key events are queued up as they arrive (on the render thread), and handed to the entities at the start of
+ * every game tick (like a logic system), so input is always applied at a known game tick, no matter which thread
+ * processes the world. Entities react to input based on their InputListener's data, so nothing is allocated
+ * per entity.
+ * Every key event is stamped with the time it arrived at, so {@link InputLatency} can measure how long it takes
+ * to show up on screen.
+ * Launching the starting ball changes the world (it becomes a collider), so this is never run alongside other systems.
  * This is a singleton, so one instance is used for the entire game.
  */
+// Launching the starting ball turns it into a collider, which no longer listens for input.
+@SystemAccess(writes = {World.class, Collider.class})
 @Singleton
-public final class InputSystem extends BaseSystem {
+public final class InputSystem extends BaseSystem implements TickSystem {
+    /**
+     * Types of input events.
+     */
+    public static final int KEY_DOWN = 0;
+    public static final int KEY_UP = 1;
+
+    /**
+     * The maximum number of input events queued up in-between game ticks. Any more than this are dropped.
+     */
+    private static final int QUEUE_CAPACITY = 256;
+
+    /**
+     * Sees (and can replace) the input events right before they're handed to the entities.
+     */
+    @FunctionalInterface
+    public interface InputHook {
+        /**
+         * Called at the start of every game tick while the hook is set, on the thread processing the world.
+         * @param events The game tick's input events, as (type, key) pairs. Modifying this changes what the
+         *               entities receive.
+         */
+        void process(IntArray events);
+    }
+
     // Dependencies injected via dagger.
     private final InputMultiplexer inputMultiplexer;
-    private final IntMap<InputProcessor> inputProcessors = new IntMap<>();
+    private final InputLatency latency;
+
+    // The spawner depends on the world, which depends on this system.
+    private final Lazy<EntitySpawner> spawner;
+
+    /**
+     * Set while input is being recorded or replayed.
+     */
+    private InputHook hook;
+
+    /**
+     * Input events received on the render thread, waiting for the next game tick.
+     */
+    private final InputRingBuffer queue = new InputRingBuffer(QUEUE_CAPACITY);
+
+    /**
+     * Input events being handed to the entities. Only touched by the thread processing the world.
+     */
+    private final IntArray events = new IntArray();
+
+    /**
+     * The clock time each input event being handed to the entities arrived at.
+     */
+    private final LongArray arrivedAt = new LongArray();
+
+    /**
+     * Queues up key events as they arrive. Registered to the input multiplexer for as long as the game runs.
+     */
+    private final InputProcessor eventQueue = new InputAdapter() {
+        @Override
+        public boolean keyDown(int keycode) {
+            queue.offer(KEY_DOWN, keycode, latency.stamp());
+            return false;
+        }
+
+        @Override
+        public boolean keyUp(int keycode) {
+            queue.offer(KEY_UP, keycode, latency.stamp());
+            return false;
+        }
+    };
+
+    /**
+     * Used to iterate over every entity listening for input.
+     */
+    private EntitySubscription listeners;
 
     // Component mappers are automatically injected via artemis-odb,
     // which gives access to the entity's components.
     private ComponentMapper<InputListener> inputListeners;
+    private ComponentMapper<LinearVelocity> velocities;
 
     // Package-private constructor since dagger injects the dependencies.
     @Inject
-    InputSystem(InputMultiplexer inputMultiplexer) {
+    InputSystem(InputMultiplexer inputMultiplexer, InputLatency latency, Lazy<EntitySpawner> spawner) {
         this.inputMultiplexer = inputMultiplexer;
+        this.latency = latency;
+        this.spawner = spawner;
+    }
+
+    /**
+     * Set the hook that sees every input event before it's handed to the entities, or null to remove it.
+     * <p/>
+     * This must not be called while the world is being processed.
+     */
+    public void setHook(InputHook hook) {
+        this.hook = hook;
+    }
+
+    /**
+     * Drop every input event queued up so far, so keys pressed before a level started aren't handed to it.
+     * <p/>
+     * This must be called from the thread receiving input (the render thread), since that's the thread queueing up
+     * the events. It's safe to call while the world is being processed on the simulation thread.
+     */
+    public void clear() {
+        queue.clear();
+    }
+
+    /**
+     * The number of input events dropped since the queue was full.
+     */
+    public long getDropped() {
+        return queue.getDropped();
     }
 
     @Override
     protected void initialize() {
-        world.getAspectSubscriptionManager().get(Aspect.all(InputListener.class)).addSubscriptionListener(new EntitySubscription.SubscriptionListener() {
-            @Override
-            public void inserted(IntBag entities) {
-                // When an entity with an input listener is added,
-                // add it to the input multiplexer.
-                for (var i = 0; i < entities.size(); i++) {
-                    var entityId = entities.get(i);
-                    var inputProcessor = inputListeners.get(entityId).processor;
-                    if (inputProcessor != null) {
-                        inputProcessors.put(entityId, inputProcessor);
-                        inputMultiplexer.addProcessor((inputProcessor));
-                    }
-                }
-            }
+        listeners = world.getAspectSubscriptionManager().get(Aspect.all(InputListener.class, LinearVelocity.class));
+        inputMultiplexer.addProcessor(eventQueue);
+    }
+
+    @Override
+    protected void processSystem() {
+        // Take every queued event, so the render thread can keep queueing up new ones while they're handled.
+        events.clear();
+        arrivedAt.clear();
+        queue.drainTo(events, arrivedAt);
+        latency.inputApplied(arrivedAt);
+        if (hook != null) hook.process(events);
 
-            @Override
-            public void removed(IntBag entities) {
-                // When an entity with an input listener is removed (or the entity is deleted),
-                // removed it from the input multiplexer.
-                for (var i = 0; i < entities.size(); i++) {
-                    var entityId = entities.get(i);
-                    if (inputProcessors.containsKey(entityId)) {
-                        inputMultiplexer.removeProcessor(inputProcessors.get(entityId));
-                    }
-                }
+        var entities = listeners.getEntities();
+        for (var i = 0; i < events.size; i += 2) {
+            var type = events.get(i);
+            var key = events.get(i + 1);
+
+            // Older recordings may still have key typed events, which nothing reacts to.
+            if (type != KEY_DOWN && type != KEY_UP) continue;
+            for (var j = 0; j < entities.size(); j++) {
+                handle(entities.get(j), key, type == KEY_DOWN);
             }
-        });
+        }
     }
 
-    @Override
-    protected void processSystem() { }
+    /**
+     * Move the entity left/right using the arrow keys, and launch it using the space key if it's launchable.
+     */
+    private void handle(int entityId, int key, boolean pressed) {
+        // A ball launched by an earlier event this game tick no longer listens for input, but it stays in the
+        // subscription until the entity states are updated.
+        if (!inputListeners.has(entityId)) return;
+        var listener = inputListeners.get(entityId);
+
+        // If the key hasn't been pressed yet, we don't want to affect the velocity.
+        var held = key == Input.Keys.LEFT ? listener.leftPressed : key == Input.Keys.RIGHT && listener.rightPressed;
+        if (!pressed && !held) return;
+
+        switch (key) {
+            case Input.Keys.LEFT -> listener.leftPressed = pressed;
+            case Input.Keys.RIGHT -> listener.rightPressed = pressed;
+        }
+
+        var velocity = velocities.get(entityId);
+        if (listener.leftPressed == listener.rightPressed) {
+            velocity.x = 0;
+        } else {
+            velocity.x = listener.leftPressed ? -listener.speed : listener.speed;
+        }
+
+        if (pressed && key == Input.Keys.SPACE && listener.launchable) {
+            listener.launchable = false;
+            spawner.get().launchStartingBall(entityId);
+        }
+    }
 }
@@ -1,69 +1,140 @@
 package io.github.qwbarch.entity.system;
 
 import com.artemis.Aspect;
+import com.artemis.BaseEntitySystem;
 import com.artemis.ComponentMapper;
 import com.artemis.EntitySubscription;
 import com.artemis.annotations.All;
 import com.artemis.utils.IntBag;
-import com.badlogic.gdx.utils.*;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.FloatArray;
 import io.github.qwbarch.entity.component.*;
+import io.github.qwbarch.entity.physics.CollisionEventQueue;
+import io.github.qwbarch.entity.physics.DespawnEventQueue;
+import io.github.qwbarch.entity.physics.PhysicsStore;
+import io.github.qwbarch.entity.spatial.EntityStamp;
+import io.github.qwbarch.entity.spatial.SpatialGrid;
+import io.github.qwbarch.entity.strategy.FixedTimestepInvocationStrategy;
+import io.github.qwbarch.entity.strategy.ReadOnly;
+import io.github.qwbarch.entity.strategy.SystemAccess;
 
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
+import java.util.Arrays;
+import java.util.stream.IntStream;
 
 /**
  * Handles the movement and collision of entities.
- * Why both at once? It was originally separated, but I couldn't figure out how to avoid the tunneling issue
- * without doing multiple passes in a single game tick.
+ * Why both at once? Collisions are detected continuously (swept AABB) while moving the entity,
+ * so that fast entities can't tunnel through collidable objects in a single game tick.
  * <p/>
+ * The movement is done on the {@link PhysicsStore}'s arrays rather than the components.
+ * This system keeps the store's slots up to date, copies the moving entities into the store at the start of
+ * every game tick, and copies them back into their components at the end of it.
+ * <p/>
+ * Collisions aren't handled while moving. They're recorded into the {@link CollisionEventQueue} instead,
+ * and handled all at once at the end of the game tick, after the components are up to date.
+ * Despawnable entities that fall below the world are recorded into the {@link DespawnEventQueue} the same way.
+ * Collision listeners only change the components of the entities that collided (and may launch a ball using the
+ * random number generator), so they don't need write access to the World.
+ * <p/>
+ * Entities are moved in the order they were spawned in (see {@link SpawnOrder}) rather than by entity id,
+ * since an entity moved earlier can get in the way of one moved later. Ties between two collidable entities
+ * hit at the same time are broken the same way. Entity ids depend on what was played before the level,
+ * so this is what lets a replay play out the same as its recording.
+ * <p/>
+ * This runs at the start of every game tick (like a logic system).
  * This is a singleton, so one instance is used for the entire game.
  */
 @All({Position.class, LinearVelocity.class, Size.class})
+@SystemAccess(writes = {PhysicsStore.class, CollisionEventQueue.class, DespawnEventQueue.class, RandomXS128.class})
 @Singleton
-public final class MovementCollisionSystem extends LogicSystem {
+public final class MovementCollisionSystem extends BaseEntitySystem implements TickSystem {
+    /**
+     * The maximum number of contacts resolved for a single entity in one game tick.
+     * Every contact moves the entity up to the point of impact and continues with the leftover time,
+     * so this only caps the work done for an entity wedged between collidable objects.
+     */
+    private static final int MAX_CONTACTS_PER_TICK = 8;
+
     /**
-     * Entities do multiple movement / collision detection passes
-     * in order to avoid the tunneling issue (where entities
-     * clip through collidable objects if the entity is moving too fast).
-     * <p/>
-     * The higher # of passes, the less likely tunneling happens.
-     * However, the higher # of passes, the higher the cpu usage as well.
+     * The minimum number of entities before the parallel mode actually splits up the work.
+     * Below this, handing the work off to other threads costs more than it saves.
      */
-    private static final int PASSES = 4;
-    private static final float SECONDS_PER_PASS = 1f / PASSES;
+    private static final int PARALLEL_THRESHOLD = 64;
 
     // Dependencies injected via dagger.
     private final float secondsPerTick;
-    private final int gridCellSize;
+    private final int collisionCooldownTicks;
+    private final FixedTimestepInvocationStrategy strategy;
+    private final PhysicsStore store;
+    private final CollisionEventQueue collisionEvents;
+    private final DespawnEventQueue despawnEvents;
 
     /**
-     * Used to iterate over all collidable entities.
+     * Collidable entities that never move (bricks, invisible borders).
+     * This layer is kept up to date as entities are added to/removed from the world,
+     * instead of being rebuilt on every game tick.
      */
-    private EntitySubscription collidableSubscription;
+    private final SpatialGrid staticGrid;
 
     /**
-     * A pool of buckets for the spatial grid to avoid unnecessary heap allocations.
+     * Collidable entities that are able to move (the paddle).
+     * This layer is small, so it is simply rebuilt on every game tick.
      */
-    private final Pool<IntBag> bucketPool = new Pool<>() {
-        @Override
-        protected IntBag newObject() {
-            return new IntBag();
-        }
-    };
+    private final SpatialGrid dynamicGrid;
+
+    /**
+     * Used to iterate over all collidable entities that are able to move.
+     */
+    private EntitySubscription dynamicCollidableSubscription;
 
     /**
-     * Used for splitting up the world into a grid of cells.
-     * Collision detection is only performed on the closest cells of the collider.
+     * Whether or not colliders are swept concurrently before being moved one after another.
+     * The result is exactly the same as the serial mode, only faster when there are lots of colliders.
      */
-    private final LongMap<IntBag> spatialGrid = new LongMap<>();
+    private final boolean parallel;
 
     /**
      * Keeps tracked of collision detection tested entities
      * to avoid duplicating work.
      */
-    private final IntSet detectedEntities = new IntSet();
+    private final EntityStamp detectedEntities = new EntityStamp();
 
+    /**
+     * Same as detectedEntities, but for each thread sweeping the colliders concurrently.
+     */
+    private final ThreadLocal<EntityStamp> parallelDetectedEntities = ThreadLocal.withInitial(EntityStamp::new);
+
+    /**
+     * The entities to move, sorted by spawn order. This is only sorted again when entities are added or removed.
+     */
+    private int[] orderedEntities = new int[0];
+    private int orderedCount = 0;
+    private boolean orderChanged = true;
+
+    /**
+     * Scratch space for sorting the entities, as (spawn order, entity id) pairs packed into a long.
+     */
+    private long[] sortKeys = new long[0];
+
+    /**
+     * The sweep used when moving colliders one after another.
+     */
+    private final Sweep serialSweep = new Sweep();
+
+    /**
+     * The precomputed first sweep of every collider, indexed by the collider's position in the sorted entities.
+     * These are re-used on every game tick.
+     */
+    private Sweep[] sweeps = new Sweep[0];
+
+    /**
+     * The number of sweeps precomputed for the current tick, and the number of entities processed so far.
+     */
+    private int precomputedCount = 0;
+    private int processedCount = 0;
     // Component mappers are automatically injected via artemis-odb,
     // which gives access to the entity's components.
     private ComponentMapper<Position> positions;
@@ -73,219 +144,654 @@ public final class MovementCollisionSystem extends LogicSystem {
     private ComponentMapper<Collidable> collidables;
     private ComponentMapper<CollisionListener> collisionListeners;
     private ComponentMapper<ImpactSound> impactSounds;
+    private ComponentMapper<Despawnable> despawnables;
+    @ReadOnly
+    private ComponentMapper<SpawnOrder> spawnOrders;
 
     // Package-private constructor since dagger injects the dependencies.
     @Inject
     public MovementCollisionSystem(
         @Named("secondsPerTick") float secondsPerTick,
-        @Named("gridCellSize") int gridCellSize
+        @Named("collisionCooldownTicks") int collisionCooldownTicks,
+        @Named("parallelCollisions") boolean parallel,
+        FixedTimestepInvocationStrategy strategy,
+        PhysicsStore store,
+        CollisionEventQueue collisionEvents,
+        DespawnEventQueue despawnEvents,
+        SpatialGrid staticGrid,
+        SpatialGrid dynamicGrid
     ) {
         this.secondsPerTick = secondsPerTick;
-        this.gridCellSize = gridCellSize;
+        this.collisionCooldownTicks = collisionCooldownTicks;
+        this.parallel = parallel;
+        this.strategy = strategy;
+        this.store = store;
+        this.collisionEvents = collisionEvents;
+        this.despawnEvents = despawnEvents;
+        this.staticGrid = staticGrid;
+        this.dynamicGrid = dynamicGrid;
     }
 
     @Override
     protected void initialize() {
-        collidableSubscription =
+        world
+            .getAspectSubscriptionManager()
+            .get(Aspect.all(Position.class, Size.class))
+            .addSubscriptionListener(new EntitySubscription.SubscriptionListener() {
+                @Override
+                public void inserted(IntBag entities) {
+                    // Give every entity with a position and a size a slot in the physics store.
+                    for (var i = 0; i < entities.size(); i++) {
+                        var entityId = entities.get(i);
+                        var velocity = velocities.has(entityId) ? velocities.get(entityId) : null;
+                        var slot = store.add(entityId);
+                        store.pull(slot, positions.get(entityId), velocity, sizes.get(entityId));
+                        store.order[slot] = getSpawnOrder(entityId);
+                    }
+                }
+
+                @Override
+                public void removed(IntBag entities) {
+                    for (var i = 0; i < entities.size(); i++) {
+                        store.remove(entities.get(i));
+                    }
+                }
+            });
+        world
+            .getAspectSubscriptionManager()
+            .get(Aspect.all(Position.class, Size.class, Collidable.class).exclude(LinearVelocity.class))
+            .addSubscriptionListener(new EntitySubscription.SubscriptionListener() {
+                @Override
+                public void inserted(IntBag entities) {
+                    // When a collidable entity that can't move is added, store it in the static layer.
+                    for (var i = 0; i < entities.size(); i++) {
+                        insert(staticGrid, entities.get(i));
+                    }
+                }
+
+                @Override
+                public void removed(IntBag entities) {
+                    // When a collidable entity that can't move is removed (or the entity is deleted),
+                    // remove it from the static layer.
+                    for (var i = 0; i < entities.size(); i++) {
+                        staticGrid.remove(entities.get(i));
+                    }
+                }
+            });
+        dynamicCollidableSubscription =
             world
                 .getAspectSubscriptionManager()
-                .get(Aspect.all(Position.class, Size.class, Collidable.class));
+                .get(Aspect.all(Position.class, Size.class, Collidable.class, LinearVelocity.class));
     }
 
     @Override
-    protected void begin() {
-        var collidableEntities = collidableSubscription.getEntities();
+    protected void inserted(int entityId) {
+        orderChanged = true;
+    }
 
-        // Return the buckets to the pool before clearing.
-        for (var bucket : spatialGrid) {
-            bucket.value.clear();
-            bucketPool.free(bucket.value);
+    @Override
+    protected void removed(int entityId) {
+        orderChanged = true;
+    }
+
+    private int getSpawnOrder(int entityId) {
+        return spawnOrders.has(entityId) ? spawnOrders.get(entityId).value : 0;
+    }
+
+    /**
+     * Sort the entities to move by spawn order. Entities spawned at the same time (which only happens for
+     * entities not spawned by the EntitySpawner) fall back to their entity id.
+     */
+    private void sortBySpawnOrder() {
+        var entities = getEntityIds();
+        var count = entities.size();
+        if (orderedEntities.length < count) {
+            orderedEntities = new int[Math.max(count, orderedEntities.length * 2)];
+            sortKeys = new long[orderedEntities.length];
         }
-        spatialGrid.clear();
-
-        // Re-calculate the available collidable entities for the spatial
-        // grid on every game tick.
-        for (var i = 0; i < collidableEntities.size(); i++) {
-            int entityId = collidableEntities.get(i);
-            if (!collidables.has(entityId)) continue;
-
-            var position = positions.get(entityId).current;
-            var size = sizes.get(entityId);
-            var minCellX = (int) Math.floor(position.x / gridCellSize);
-            var maxCellX = (int) Math.floor((position.x + size.width) / gridCellSize);
-            var minCellY = (int) Math.floor(position.y / gridCellSize);
-            var maxCellY = (int) Math.floor((position.y + size.height) / gridCellSize);
-
-            // Store the collidable entities in their respective cells.
-            for (var cellX = minCellX; cellX <= maxCellX; cellX++) {
-                for (var cellY = minCellY; cellY <= maxCellY; cellY++) {
-                    // Store cellX and cellY into a single long key:
-                    // https://stackoverflow.com/questions/12772939/java-storing-two-ints-in-a-long
-                    var key = (((long) cellX) << 32) | (cellY & 0xffffffffL);
-                    var bag = spatialGrid.get(key);
-                    if (bag == null) {
-                        bag = bucketPool.obtain();
-                        spatialGrid.put(key, bag);
-                    }
-                    bag.add(entityId);
-                }
+
+        var entityIds = entities.getData();
+        for (var i = 0; i < count; i++) {
+            sortKeys[i] = ((long) getSpawnOrder(entityIds[i]) << 32) | entityIds[i];
+        }
+        Arrays.sort(sortKeys, 0, count);
+        for (var i = 0; i < count; i++) {
+            orderedEntities[i] = (int) sortKeys[i];
+        }
+        orderedCount = count;
+        orderChanged = false;
+    }
+
+    /**
+     * Store the collidable entity in the spatial grid, using its current bounds.
+     */
+    private void insert(SpatialGrid grid, int entityId) {
+        var position = positions.get(entityId).current;
+        var size = sizes.get(entityId);
+        grid.insert(entityId, position.x, position.y, position.x + size.width, position.y + size.height);
+    }
+
+    /**
+     * Copy the components of every entity that is able to move into the physics store.
+     * Entities that can't move are only copied once, when they're added.
+     */
+    private void pullMovingEntities() {
+        var entities = getEntityIds();
+        for (var i = 0; i < entities.size(); i++) {
+            var entityId = entities.get(i);
+            store.pull(store.getSlot(entityId), positions.get(entityId), velocities.get(entityId), sizes.get(entityId));
+        }
+    }
+
+    /**
+     * Copy the physics store's results back into the components of every entity that is able to move.
+     */
+    private void pushMovingEntities() {
+        var entities = getEntityIds();
+        for (var i = 0; i < entities.size(); i++) {
+            var entityId = entities.get(i);
+            store.push(store.getSlot(entityId), positions.get(entityId), velocities.get(entityId));
+        }
+    }
+
+    @Override
+    protected void begin() {
+        collisionEvents.clear();
+        despawnEvents.clear();
+
+        // Other systems, input and collision callbacks only ever modify the components.
+        pullMovingEntities();
+
+        // Re-calculate the collidable entities that are able to move on every game tick.
+        // Static collidable entities are already up to date.
+        var dynamicEntities = dynamicCollidableSubscription.getEntities();
+        dynamicGrid.clear();
+        for (var i = 0; i < dynamicEntities.size(); i++) {
+            var entityId = dynamicEntities.get(i);
+            var slot = store.getSlot(entityId);
+            var x = store.x[slot];
+            var y = store.y[slot];
+            dynamicGrid.insert(entityId, x, y, x + store.width[slot], y + store.height[slot]);
+        }
+
+        if (orderChanged) sortBySpawnOrder();
+        processedCount = 0;
+        precomputedCount = 0;
+        if (parallel && orderedCount >= PARALLEL_THRESHOLD) precomputeAll();
+    }
+
+    /**
+     * Sweep every collider concurrently against the state at the start of the tick.
+     * The results are applied one after another while processing, in the same order as the serial mode.
+     */
+    private void precomputeAll() {
+        var entityIds = orderedEntities;
+        var count = orderedCount;
+        if (sweeps.length < count) {
+            var previousLength = sweeps.length;
+            sweeps = Arrays.copyOf(sweeps, Math.max(count, previousLength * 2));
+            for (var i = previousLength; i < sweeps.length; i++) {
+                sweeps[i] = new Sweep();
             }
         }
+
+        // Nothing is written to the world here, and the grids aren't modified until the next tick,
+        // which is why the grids need to finish their pending work beforehand.
+        staticGrid.prepare();
+        dynamicGrid.prepare();
+        IntStream.range(0, count).parallel().forEach(i -> precompute(entityIds[i], sweeps[i]));
+        precomputedCount = count;
     }
 
     @Override
-    protected void process(int entityId) {
-        // Get the components of the current entity to process.
-        var position = positions.get(entityId);
-        var velocity = velocities.get(entityId);
-        var size = sizes.get(entityId);
+    protected void end() {
+        pushMovingEntities();
+
+        // Now that every entity is done moving, handle the collisions in the order they happened in.
+        // The events are kept around until the next game tick, for anything else interested in them.
+        var listenersRan = false;
+        for (var i = 0; i < collisionEvents.size(); i++) {
+            listenersRan |= handleCollision(
+                collisionEvents.getColliderId(i),
+                collisionEvents.getCollidableId(i),
+                collisionEvents.getTick(i)
+            );
+        }
+
+        // Collision listeners modify the components (not always of the entities that collided, like the starting
+        // ball being centered on the paddle), while the game tick is drawn from the physics store.
+        // Listeners rarely run, so every moving entity is copied back in rather than keeping track of what changed.
+        if (listenersRan) pullMovingEntities();
+    }
+
+    @Override
+    protected void processSystem() {
+        for (var i = 0; i < orderedCount; i++) {
+            process(orderedEntities[i]);
+        }
+    }
+
+    private void process(int entityId) {
+        // Entities are processed in the same order as they were precomputed in.
+        var precomputed = processedCount < precomputedCount ? sweeps[processedCount] : null;
+        processedCount++;
+        move(entityId, precomputed != null && precomputed.entityId == entityId ? precomputed : null);
+
+        // Record the entity if it fell below the world (y = 0), since its position is at hand anyway.
+        var slot = store.getSlot(entityId);
+        if (store.y[slot] < -store.height[slot] && despawnables.has(entityId)) {
+            despawnEvents.add(entityId);
+        }
+    }
+
+    /**
+     * Move the entity for the whole game tick.
+     * @param precomputed The entity's first sweep if it was computed ahead of time, or null to sweep serially.
+     */
+    private void move(int entityId, Sweep precomputed) {
+        var slot = store.getSlot(entityId);
 
         // Update the previous position to the last frame.
         // This is needed for the render system to interpolate
         // between the previous and current game tick,
         // smoothing out the animation for users who
         // have higher fps than the game's tick rate.
-        position.previous.set(position.current);
-
-        // Do multiple passes to avoid the tunneling issue.
-        for (var pass = 0; pass < PASSES; pass++) {
-            var previousLeft = position.current.x;
-            var previousBottom = position.current.y;
-            var previousRight = previousLeft + size.width;
-            var previousTop = previousBottom + size.height;
-
-            // Update the entity's position.
-            position.current.x += velocity.x * secondsPerTick * SECONDS_PER_PASS;
-            position.current.y += velocity.y * secondsPerTick * SECONDS_PER_PASS;
-
-            if (!colliders.has(entityId)) continue;
-            var collider = colliders.get(entityId);
-
-            // Collider's current position/bounds.
-            var currentLeft = position.current.x;
-            var currentBottom = position.current.y;
-            var currentRight = currentLeft + size.width;
-            var currentTop = currentBottom + size.height;
-
-            // Grid cell bounds to check for.
-            var minCellX = (int) Math.floor(currentLeft / gridCellSize);
-            var maxCellX = (int) Math.floor(currentRight / gridCellSize);
-            var minCellY = (int) Math.floor(currentBottom / gridCellSize);
-            var maxCellY = (int) Math.floor(currentTop / gridCellSize);
-
-            detectedEntities.clear();
-
-            // Check for collisions over overlapping cells.
-            for (var cellX = minCellX; cellX <= maxCellX; cellX++) {
-                for (var cellY = minCellY; cellY <= maxCellY; cellY++) {
-                    var key = (((long) cellX) << 32L) | (cellY & 0xffffffffL);
-                    var bucket = spatialGrid.get(key);
-                    if (bucket == null) continue;
-
-                    for (var i = 0; i < bucket.size(); i++) {
-                        var collidableId = bucket.get(i);
-
-                        if (!detectedEntities.add(collidableId)) continue;
-                        if (!collidables.has(collidableId)) continue;
-
-                        var collidablePosition = positions.get(collidableId).current;
-                        var collidableSize = sizes.get(collidableId);
-
-                        // Position/bounds of the collidable entity.
-                        var collidableLeft = collidablePosition.x;
-                        var collidableBottom = collidablePosition.y;
-                        var collidableRight = collidableLeft + collidableSize.width;
-                        var collidableTop = collidableBottom + collidableSize.height;
-
-                        // Collision detection of entities.
-                        // https://lazyfoo.net/tutorials/SDL/27_collision_detection/index.php
-                        //
-                        // If entity is within collision bounds.
-                        // This doesn't necessarily mean a collision has happened,
-                        // which requires the below checks to be exact.
-                        if (currentLeft < collidableRight
-                            && currentRight > collidableLeft
-                            && currentBottom < collidableTop
-                            && currentTop > collidableBottom
-                        ) {
-                            // Collided into the left of the entity.
-                            if (previousRight <= collidableLeft) {
-                                if (!collider.ghosted) {
-                                    position.current.x = collidableLeft - size.width;
-                                    if (collider.bounce) velocity.reverseX();
-                                    else velocity.setZero();
-                                }
-                                handleCollision(entityId, collidableId);
-                            }
-                            // Collided into the right of the entity.
-                            else if (previousLeft >= collidableRight) {
-                                if (!collider.ghosted) {
-                                    position.current.x = collidableRight;
-                                    if (collider.bounce) velocity.reverseX();
-                                    else velocity.setZero();
-                                }
-                                handleCollision(entityId, collidableId);
-                            }
-                            // Collided into the bottom of the entity.
-                            else if (previousTop <= collidableBottom) {
-                                if (!collider.ghosted) {
-                                    position.current.y = collidableBottom - size.height;
-                                    if (collider.bounce) velocity.reverseY();
-                                    else velocity.setZero();
-                                }
-                                handleCollision(entityId, collidableId);
-                            }
-                            // Collided into the top of the entity.
-                            else if (previousBottom >= collidableTop) {
-                                if (!collider.ghosted) {
-                                    position.current.y = collidableTop;
-                                    if (collider.bounce) velocity.reverseY();
-                                    else velocity.setZero();
-                                }
-                                handleCollision(entityId, collidableId);
-                            }
-                        }
-                    }
-                }
+        store.previousX[slot] = store.x[slot];
+        store.previousY[slot] = store.y[slot];
+
+        // Entities that can't collide into anything simply move for the whole tick.
+        if (!colliders.has(entityId)) {
+            store.x[slot] += store.velocityX[slot] * secondsPerTick;
+            store.y[slot] += store.velocityY[slot] * secondsPerTick;
+            return;
+        }
+
+        // Move the entity until it runs out of time for this tick, stopping at every contact along the way.
+        var remainingTime = secondsPerTick;
+        var contacts = 0;
+        // An entity moved earlier during this tick may have been in the way of the precomputed sweep,
+        // in which case it's thrown away and the entity is swept again.
+        if (precomputed != null && isValid(entityId, precomputed)) {
+            remainingTime = resolve(entityId, remainingTime, precomputed);
+            contacts++;
+        }
+        for (; contacts < MAX_CONTACTS_PER_TICK && remainingTime > 0f; contacts++) {
+            sweep(entityId, remainingTime, detectedEntities, serialSweep, false);
+            remainingTime = resolve(entityId, remainingTime, serialSweep);
+        }
+    }
+
+    /**
+     * Find the earliest contact along the collider's path, or every contact if the collider is ghosted.
+     * This only reads from the world, so it's safe to run for multiple colliders at once.
+     * @param remainingTime The time left to move for during this tick.
+     * @param visited Used to skip entities that were already tested.
+     * @param sweep Where the result is stored.
+     * @param record Whether or not to remember the tested entities' bounds, to validate the result later.
+     */
+    private void sweep(int entityId, float remainingTime, EntityStamp visited, Sweep sweep, boolean record) {
+        var slot = store.getSlot(entityId);
+        var collider = colliders.get(entityId);
+
+        var deltaX = store.velocityX[slot] * remainingTime;
+        var deltaY = store.velocityY[slot] * remainingTime;
+        sweep.deltaX = deltaX;
+        sweep.deltaY = deltaY;
+        sweep.impactId = -1;
+        sweep.impactTime = 1f;
+        sweep.impactOnXAxis = false;
+        sweep.ghostedContacts.clear();
+        sweep.candidates.clear();
+        sweep.candidateBounds.clear();
+        if (deltaX == 0f && deltaY == 0f) return;
+
+        // Collider's current position/bounds.
+        var left = store.x[slot];
+        var bottom = store.y[slot];
+        var right = left + store.width[slot];
+        var top = bottom + store.height[slot];
+
+        // Bounds covering the whole path of the collider.
+        var pathLeft = Math.min(left, left + deltaX);
+        var pathBottom = Math.min(bottom, bottom + deltaY);
+        var pathRight = Math.max(right, right + deltaX);
+        var pathTop = Math.max(top, top + deltaY);
+
+        // Find the collidable entities in the cells overlapping the path.
+        var candidates = sweep.candidates;
+        visited.next();
+        staticGrid.query(pathLeft, pathBottom, pathRight, pathTop, visited, candidates);
+        dynamicGrid.query(pathLeft, pathBottom, pathRight, pathTop, visited, candidates);
+
+        // Check for collisions against the found entities.
+        for (var i = 0; i < candidates.size(); i++) {
+            var collidableId = candidates.get(i);
+
+            if (collidableId == entityId) continue;
+            if (!collidables.has(collidableId)) {
+                // NaN never matches anything, so this marks the entity as not collidable.
+                if (record) sweep.candidateBounds.add(Float.NaN, 0f, 0f, 0f);
+                continue;
+            }
+
+            var collidableSlot = store.getSlot(collidableId);
+            var collidableWidth = store.width[collidableSlot];
+            var collidableHeight = store.height[collidableSlot];
+
+            // Position/bounds of the collidable entity.
+            var collidableLeft = store.x[collidableSlot];
+            var collidableBottom = store.y[collidableSlot];
+            var collidableRight = collidableLeft + collidableWidth;
+            var collidableTop = collidableBottom + collidableHeight;
+
+            if (record) sweep.candidateBounds.add(collidableLeft, collidableBottom, collidableWidth, collidableHeight);
+
+            // Swept AABB: the collider touches the collidable entity once both axes overlap,
+            // and stops touching it as soon as either axis stops overlapping.
+            // https://www.gamedev.net/tutorials/programming/general-and-gameplay-programming/swept-aabb-collision-detection-and-response-r3084/
+            var entryX = entryTime(left, right, deltaX, collidableLeft, collidableRight);
+            var entryY = entryTime(bottom, top, deltaY, collidableBottom, collidableTop);
+            var exitX = exitTime(left, right, deltaX, collidableLeft, collidableRight);
+            var exitY = exitTime(bottom, top, deltaY, collidableBottom, collidableTop);
+            var entry = Math.max(entryX, entryY);
+            var exit = Math.min(exitX, exitY);
+
+            // Entities that already overlap at the start of the movement are ignored,
+            // and so are entities that are only touched at the very end of the movement.
+            if (entry >= exit || entry < 0f || entry >= 1f) continue;
+
+            if (collider.ghosted) {
+                sweep.ghostedContacts.add(collidableId);
+            } else if (entry < sweep.impactTime
+                || (entry == sweep.impactTime && isSpawnedBefore(collidableSlot, sweep.impactId))
+            ) {
+                sweep.impactId = collidableId;
+                sweep.impactTime = entry;
+                // On a perfect corner hit, the left/right side takes priority.
+                sweep.impactOnXAxis = entryX >= entryY;
             }
         }
+
+        // The candidates come out of the grids in an order that depends on entity ids,
+        // so the contacts are sorted before they turn into collision events.
+        sortBySpawnOrder(sweep.ghostedContacts);
+    }
+
+    /**
+     * Whether or not the entity in the slot was spawned before the other entity.
+     * If two entities are hit at the exact same time (like two bricks side by side), the one spawned first wins.
+     */
+    private boolean isSpawnedBefore(int slot, int otherId) {
+        return otherId >= 0 && store.order[slot] < store.order[store.getSlot(otherId)];
+    }
+
+    /**
+     * Insertion sort, since a ghosted collider only passes through a few entities per tick.
+     */
+    private void sortBySpawnOrder(IntBag entities) {
+        for (var i = 1; i < entities.size(); i++) {
+            var entityId = entities.get(i);
+            var order = store.order[store.getSlot(entityId)];
+            var j = i - 1;
+            for (; j >= 0 && store.order[store.getSlot(entities.get(j))] > order; j--) {
+                entities.set(j + 1, entities.get(j));
+            }
+            entities.set(j + 1, entityId);
+        }
+    }
+
+    /**
+     * Move the collider according to its sweep, and record the collision if it ran into something.
+     * @return The time left over after the contact, or 0 if the collider is done moving for this tick.
+     */
+    private float resolve(int entityId, float remainingTime, Sweep sweep) {
+        var slot = store.getSlot(entityId);
+        var collider = colliders.get(entityId);
+        var deltaX = sweep.deltaX;
+        var deltaY = sweep.deltaY;
+        if (deltaX == 0f && deltaY == 0f) return 0f;
+
+        // Ghosted entities move through everything, but every contact still triggers its callbacks.
+        if (collider.ghosted) {
+            store.x[slot] += deltaX;
+            store.y[slot] += deltaY;
+            for (var i = 0; i < sweep.ghostedContacts.size(); i++) {
+                collisionEvents.add(
+                    entityId,
+                    sweep.ghostedContacts.get(i),
+                    CollisionEventQueue.SIDE_NONE,
+                    strategy.getTick()
+                );
+            }
+            return 0f;
+        }
+
+        // Nothing is in the way, move for the rest of the tick.
+        var impactId = sweep.impactId;
+        if (impactId < 0) {
+            store.x[slot] += deltaX;
+            store.y[slot] += deltaY;
+            return 0f;
+        }
+
+        // Move the collider up to the point of impact.
+        store.x[slot] += deltaX * sweep.impactTime;
+        store.y[slot] += deltaY * sweep.impactTime;
+
+        var collidableSlot = store.getSlot(impactId);
+        int side;
+        if (sweep.impactOnXAxis) {
+            // Collided into the left of the entity.
+            if (deltaX > 0f) {
+                store.x[slot] = store.x[collidableSlot] - store.width[slot];
+                side = CollisionEventQueue.SIDE_LEFT;
+            }
+            // Collided into the right of the entity.
+            else {
+                store.x[slot] = store.x[collidableSlot] + store.width[collidableSlot];
+                side = CollisionEventQueue.SIDE_RIGHT;
+            }
+
+            if (collider.bounce) store.velocityX[slot] = -store.velocityX[slot];
+        } else {
+            // Collided into the bottom of the entity.
+            if (deltaY > 0f) {
+                store.y[slot] = store.y[collidableSlot] - store.height[slot];
+                side = CollisionEventQueue.SIDE_BOTTOM;
+            }
+            // Collided into the top of the entity.
+            else {
+                store.y[slot] = store.y[collidableSlot] + store.height[collidableSlot];
+                side = CollisionEventQueue.SIDE_TOP;
+            }
+
+            if (collider.bounce) store.velocityY[slot] = -store.velocityY[slot];
+        }
+        if (!collider.bounce) {
+            store.velocityX[slot] = 0f;
+            store.velocityY[slot] = 0f;
+        }
+        collisionEvents.add(entityId, impactId, side, strategy.getTick());
+
+        // Continue moving with whatever time is left over after the contact.
+        return remainingTime - remainingTime * sweep.impactTime;
+    }
+
+    /**
+     * Compute the collider's first sweep of the tick ahead of time, remembering everything it depends on.
+     * Runs concurrently with the other colliders.
+     */
+    private void precompute(int entityId, Sweep sweep) {
+        sweep.entityId = entityId;
+        sweep.computed = false;
+        if (!colliders.has(entityId)) return;
+
+        var slot = store.getSlot(entityId);
+        sweep.x = store.x[slot];
+        sweep.y = store.y[slot];
+        sweep.velocityX = store.velocityX[slot];
+        sweep.velocityY = store.velocityY[slot];
+        sweep.width = store.width[slot];
+        sweep.height = store.height[slot];
+        sweep.ghosted = colliders.get(entityId).ghosted;
+
+        sweep(entityId, secondsPerTick, parallelDetectedEntities.get(), sweep, true);
+        sweep.computed = true;
+    }
+
+    /**
+     * Whether or not sweeping the collider right now gives the same result as the precomputed sweep.
+     * The grids don't change during a tick, so this is the case as long as neither the collider
+     * nor any of the entities it was tested against have changed since.
+     */
+    private boolean isValid(int entityId, Sweep sweep) {
+        if (!sweep.computed || !colliders.has(entityId)) return false;
+
+        var slot = store.getSlot(entityId);
+        if (store.x[slot] != sweep.x
+            || store.y[slot] != sweep.y
+            || store.velocityX[slot] != sweep.velocityX
+            || store.velocityY[slot] != sweep.velocityY
+            || store.width[slot] != sweep.width
+            || store.height[slot] != sweep.height
+            || colliders.get(entityId).ghosted != sweep.ghosted
+        ) return false;
+
+        var bounds = sweep.candidateBounds.items;
+        var index = 0;
+        for (var i = 0; i < sweep.candidates.size(); i++) {
+            var collidableId = sweep.candidates.get(i);
+            if (collidableId == entityId) continue;
+
+            if (!collidables.has(collidableId)) {
+                if (!Float.isNaN(bounds[index])) return false;
+            } else {
+                var collidableSlot = store.getSlot(collidableId);
+                if (store.x[collidableSlot] != bounds[index]
+                    || store.y[collidableSlot] != bounds[index + 1]
+                    || store.width[collidableSlot] != bounds[index + 2]
+                    || store.height[collidableSlot] != bounds[index + 3]
+                ) return false;
+            }
+            index += 4;
+        }
+        return true;
+    }
+
+    /**
+     * The time at which the moving range starts overlapping the other range along a single axis,
+     * as a fraction of the movement.
+     * @param min The moving range's minimum.
+     * @param max The moving range's maximum.
+     * @param delta The distance travelled by the moving range.
+     * @param otherMin The other range's minimum.
+     * @param otherMax The other range's maximum.
+     */
+    private static float entryTime(float min, float max, float delta, float otherMin, float otherMax) {
+        if (delta > 0f) return (otherMin - max) / delta;
+        if (delta < 0f) return (otherMax - min) / delta;
+        // Not moving along this axis, so the ranges either always or never overlap.
+        return min < otherMax && max > otherMin ? Float.NEGATIVE_INFINITY : Float.POSITIVE_INFINITY;
+    }
+
+    /**
+     * The time at which the moving range stops overlapping the other range along a single axis,
+     * as a fraction of the movement.
+     * @param min The moving range's minimum.
+     * @param max The moving range's maximum.
+     * @param delta The distance travelled by the moving range.
+     * @param otherMin The other range's minimum.
+     * @param otherMax The other range's maximum.
+     */
+    private static float exitTime(float min, float max, float delta, float otherMin, float otherMax) {
+        if (delta > 0f) return (otherMax - min) / delta;
+        if (delta < 0f) return (otherMin - max) / delta;
+        // Not moving along this axis, so the ranges either always or never overlap.
+        return min < otherMax && max > otherMin ? Float.POSITIVE_INFINITY : Float.NEGATIVE_INFINITY;
     }
 
     /**
      * Handle the collision between the two entities.
      * @param colliderId The collider entity (entity colliding into the collidable entity).
      * @param collidableId The collidable entity (entity getting colliding into by the collider entity).
+     * @param tick The game tick the collision happened in.
+     * @return Whether or not a collision listener ran.
      */
-    private void handleCollision(int colliderId, int collidableId) {
+    private boolean handleCollision(int colliderId, int collidableId, int tick) {
         // Play the impact sound if it isn't currently on cooldown.
         if (colliders.get(colliderId).playImpactSound && impactSounds.has(collidableId)) {
             var impactSound = impactSounds.get(collidableId);
-            var currentTime = System.nanoTime();
-            var timeSinceLastPlayed = (currentTime - impactSound.lastPlayedTime) / 1_000_000_000f;
-            if (impactSound.sound != null && timeSinceLastPlayed > 0.1f) {
-                impactSound.lastPlayedTime = currentTime;
+            if (impactSound.sound != null && tick - impactSound.lastPlayedTick > collisionCooldownTicks) {
+                impactSound.lastPlayedTick = tick;
                 impactSound.sound.play();
             }
         }
 
         // Run the collision listener function for the collider and the collidable entities.
+        var listenerRan = false;
         if (collisionListeners.has(colliderId)) {
             var collisionListener = collisionListeners.get(colliderId);
-            var currentTime = System.nanoTime();
-            var timeSinceLastPlayed = (currentTime - collisionListener.lastCollisionTime) / 1_000_000_000f;
-            if (collisionListener.listener != null && timeSinceLastPlayed > 0.1f) {
-                collisionListener.lastCollisionTime = currentTime;
+            if (collisionListener.listener != null && tick - collisionListener.lastCollisionTick > collisionCooldownTicks) {
+                collisionListener.lastCollisionTick = tick;
                 collisionListener.listener.collide(colliderId, collidableId);
+                listenerRan = true;
             }
         }
         if (collisionListeners.has(collidableId)) {
             var collisionListener = collisionListeners.get(collidableId);
-            var currentTime = System.nanoTime();
-            var timeSinceLastPlayed = (currentTime - collisionListener.lastCollisionTime) / 1_000_000_000f;
-            if (collisionListener.listener != null && timeSinceLastPlayed > 0.1f) {
-                collisionListener.lastCollisionTime = currentTime;
+            if (collisionListener.listener != null && tick - collisionListener.lastCollisionTick > collisionCooldownTicks) {
+                collisionListener.lastCollisionTick = tick;
                 collisionListener.listener.collide(colliderId, collidableId);
+                listenerRan = true;
             }
         }
+        return listenerRan;
+    }
+
+    /**
+     * The result of sweeping a collider along its path.
+     */
+    private static final class Sweep {
+        /**
+         * The collider's movement for the sweep.
+         */
+        float deltaX;
+        float deltaY;
+
+        /**
+         * The earliest contact found along the path, as a fraction of the movement.
+         * The impact id is -1 if nothing is in the way.
+         */
+        int impactId;
+        float impactTime;
+        boolean impactOnXAxis;
+
+        /**
+         * Collidable entities a ghosted collider passes through during its movement.
+         */
+        final IntBag ghostedContacts = new IntBag();
+
+        /**
+         * Collidable entities found in the cells along the collider's path.
+         */
+        final IntBag candidates = new IntBag();
+
+        /**
+         * Everything below is only used by precomputed sweeps, to check if the result is still valid.
+         */
+        int entityId;
+        boolean computed;
+        float x;
+        float y;
+        float velocityX;
+        float velocityY;
+        float width;
+        float height;
+        boolean ghosted;
+
+        /**
+         * The bounds (x, y, width, height) of every tested candidate, in the same order as the candidates.
+         */
+        final FloatArray candidateBounds = new FloatArray();
     }
 }
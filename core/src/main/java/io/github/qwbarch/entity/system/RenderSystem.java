@@ -3,10 +3,15 @@ package io.github.qwbarch.entity.system;
 import com.artemis.ComponentMapper;
 import com.artemis.annotations.All;
 import com.artemis.systems.IteratingSystem;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.Batch;
 import io.github.qwbarch.entity.component.Position;
 import io.github.qwbarch.entity.component.Size;
 import io.github.qwbarch.entity.component.Sprite;
+import io.github.qwbarch.entity.physics.PhysicsStore;
+import io.github.qwbarch.entity.snapshot.RenderSnapshot;
+import io.github.qwbarch.entity.strategy.InputLatency;
+import io.github.qwbarch.entity.strategy.ReadOnly;
+import io.github.qwbarch.entity.strategy.SystemAccess;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -18,6 +23,7 @@ import javax.inject.Singleton;
  * This is a singleton, so one instance is used for the entire game.
  */
 @All({Position.class, Size.class, Sprite.class})
+@SystemAccess(reads = PhysicsStore.class, confined = true)
 @Singleton
 public final class RenderSystem extends IteratingSystem {
     /**
@@ -29,33 +35,59 @@ public final class RenderSystem extends IteratingSystem {
     public float alpha = 1f;
 
     // Dependencies injected via dagger.
-    private final SpriteBatch batch;
+    private final Batch batch;
+    private final PhysicsStore store;
+    private final InputLatency latency;
 
     // Component mappers are automatically injected via artemis-odb,
     // which gives access to the entity's components.
+    @ReadOnly
     private ComponentMapper<Sprite> sprites;
-    private ComponentMapper<Size> sizes;
-    private ComponentMapper<Position> positions;
 
     // Package-private constructor since dagger injects the dependencies.
     @Inject
-    RenderSystem(SpriteBatch batch) {
+    RenderSystem(Batch batch, PhysicsStore store, InputLatency latency) {
         this.batch = batch;
+        this.store = store;
+        this.latency = latency;
     }
 
     @Override
     protected void process(int entityId) {
         var texture = sprites.get(entityId).texture;
-        var size = sizes.get(entityId);
-        var position = positions.get(entityId);
 
         // This system runs on every available render frame.
         if (texture != null) {
             // Interpolate between the previous and the current state.
             // This requires the previous position to be set by another system.
-            var x = position.previous.x + (position.current.x - position.previous.x) * alpha;
-            var y = position.previous.y + (position.current.y - position.previous.y) * alpha;
-            batch.draw(texture, x, y, size.width, size.height);
+            var slot = store.getSlot(entityId);
+            var previousX = store.previousX[slot];
+            var previousY = store.previousY[slot];
+            var x = previousX + (store.x[slot] - previousX) * alpha;
+            var y = previousY + (store.y[slot] - previousY) * alpha;
+            batch.draw(texture, x, y, store.width[slot], store.height[slot]);
         }
     }
+
+    @Override
+    protected void end() {
+        // Every finished game tick has now been drawn, along with any input it handled.
+        latency.frameDrawn();
+    }
+
+    /**
+     * Draw a snapshot of the world, published by the simulation thread.
+     * This doesn't touch the world at all, so it's safe to call while the world is being processed on another thread.
+     * @param alpha Where to interpolate to, in-between the snapshot's previous and current positions.
+     */
+    public void render(RenderSnapshot snapshot, float alpha) {
+        for (var i = 0; i < snapshot.size; i++) {
+            var previousX = snapshot.previousX[i];
+            var previousY = snapshot.previousY[i];
+            var x = previousX + (snapshot.x[i] - previousX) * alpha;
+            var y = previousY + (snapshot.y[i] - previousY) * alpha;
+            batch.draw(snapshot.textures[i], x, y, snapshot.width[i], snapshot.height[i]);
+        }
+        latency.frameDrawn(snapshot.tick);
+    }
 }
@@ -0,0 +1,7 @@
+package io.github.qwbarch.entity.system;
+
+/**
+ * Marks a system that runs once every game tick along with the logic systems,
+ * but handles something other than every entity of an aspect (input, or events recorded during the game tick).
+ */
+public interface TickSystem { }
@@ -0,0 +1,161 @@
+package io.github.qwbarch.headless;
+
+import com.artemis.Aspect;
+import com.badlogic.gdx.Input;
+import io.github.qwbarch.LevelResolver;
+import io.github.qwbarch.dagger.DaggerHeadlessComponent;
+import io.github.qwbarch.dagger.HeadlessComponent;
+import io.github.qwbarch.entity.component.PlayerHealth;
+import io.github.qwbarch.entity.component.Target;
+import io.github.qwbarch.level.LevelLayout;
+
+import static io.github.qwbarch.Main.*;
+
+/**
+ * Runs the game's simulation without a window, GL context or audio device.
+ * The level is loaded, the starting ball is launched, and the logic systems are stepped
+ * as fast as the CPU allows, until the level is over or the given number of game ticks have passed.
+ * <p/>
+ * Usage: {@code HeadlessRunner [LEVEL_1 | LEVEL_2 | BONUS_LEVEL] [ticks] [seed]}
+ */
+public final class HeadlessRunner {
+    private static final LevelResolver.Level DEFAULT_LEVEL = LevelResolver.Level.BONUS_LEVEL;
+    private static final int DEFAULT_TICKS = 10_000;
+
+    /**
+     * Seed for the simulation's random number generator, so runs are repeatable by default.
+     */
+    public static final long DEFAULT_SEED = 42L;
+
+    private HeadlessRunner() {}
+
+    /**
+     * Build the dagger dependency graph for a headless simulation, using the same settings as the game.
+     */
+    public static HeadlessComponent createComponent() {
+        return createComponent(DEFAULT_SEED);
+    }
+
+    /**
+     * Build the dagger dependency graph for a headless simulation, using the same settings as the game.
+     * The same seed and inputs always simulate the same thing.
+     */
+    public static HeadlessComponent createComponent(long seed) {
+        return DaggerHeadlessComponent
+            .factory()
+            .create(
+                SECONDS_PER_TICK,
+                COLLISION_COOLDOWN_TICKS,
+                WORLD_WIDTH,
+                WORLD_HEIGHT,
+                BRICK_SIZE,
+                BALL_SIZE,
+                BALL_VELOCITY,
+                BALL_SPAWN_VELOCITY,
+                STARTING_BALL_SPAWN_X,
+                STARTING_BALL_SPAWN_Y,
+                PADDLE_WIDTH,
+                PADDLE_HEIGHT,
+                PADDLE_VELOCITY,
+                PADDLE_SPAWN_X,
+                PADDLE_SPAWN_Y,
+                SPAWN_BALL_CHANCE,
+                BALL_POOL_CAPACITY,
+                GRID_CELL_SIZE,
+                DENSE_SPATIAL_GRID,
+                WORLD_BORDER_SIZE,
+                PARALLEL_COLLISIONS,
+                PARALLEL_SYSTEMS,
+                CHECK_SYSTEM_ACCESS,
+                PROFILE_SYSTEMS,
+                seed,
+                RECORD_REPLAYS
+            );
+    }
+
+    /**
+     * The layout of the given level.
+     */
+    public static LevelLayout getLayout(HeadlessComponent component, LevelResolver.Level level) {
+        return switch (level) {
+            case LEVEL_1 -> component.getLevel1Layout();
+            case LEVEL_2 -> component.getLevel2Layout();
+            case BONUS_LEVEL -> component.getBonusLevelLayout();
+        };
+    }
+
+    /**
+     * Load the level and launch the starting ball, ready to be stepped.
+     * Every call to World.process() afterwards runs exactly one game tick.
+     */
+    public static void startLevel(HeadlessComponent component, LevelResolver.Level level) {
+        component.getStrategy().setManualStepping(true);
+        getLayout(component, level).spawn();
+
+        // The first tick adds the spawned entities to the world, which registers their input listeners.
+        var world = component.getWorld();
+        world.process();
+
+        // Launch the starting ball the same way a player would.
+        var inputMultiplexer = component.getInputMultiplexer();
+        inputMultiplexer.keyDown(Input.Keys.SPACE);
+        inputMultiplexer.keyUp(Input.Keys.SPACE);
+    }
+
+    public static void main(String[] args) {
+        var level = args.length > 0 ? LevelResolver.Level.valueOf(args[0]) : DEFAULT_LEVEL;
+        var ticks = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_TICKS;
+        var seed = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_SEED;
+
+        var component = createComponent(seed);
+        var world = component.getWorld();
+        var subscriptions = world.getAspectSubscriptionManager();
+        var entities = subscriptions.get(Aspect.all()).getEntities();
+        var playerHealths = subscriptions.get(Aspect.all(PlayerHealth.class)).getEntities();
+        var targets = subscriptions.get(Aspect.all(Target.class)).getEntities();
+
+        startLevel(component, level);
+
+        var startTime = System.nanoTime();
+        var ticksProcessed = 0;
+        var peakEntities = 0;
+        while (ticksProcessed < ticks && !playerHealths.isEmpty() && !targets.isEmpty()) {
+            world.process();
+            ticksProcessed++;
+            peakEntities = Math.max(peakEntities, entities.size());
+        }
+        var elapsedSeconds = (System.nanoTime() - startTime) / 1_000_000_000.0;
+
+        System.out.println("Level: " + level);
+        System.out.println("Seed: " + seed);
+        System.out.println("Ticks processed: " + ticksProcessed);
+        System.out.println("Elapsed time: " + String.format("%.3f", elapsedSeconds) + "s");
+        System.out.println("Ticks per second: " + String.format("%.1f", ticksProcessed / elapsedSeconds));
+        System.out.println("Peak entities: " + peakEntities);
+        if (targets.isEmpty()) System.out.println("Outcome: won");
+        else if (playerHealths.isEmpty()) System.out.println("Outcome: lost");
+        else System.out.println("Outcome: still playing");
+
+        // How often dropping balls were re-used instead of being created.
+        var ballPool = component.getBallPool();
+        System.out.println(
+            "Ball pool: " + ballPool.getHits() + " hits, " + ballPool.getMisses() + " misses, "
+                + ballPool.getDiscarded() + " discarded, " + ballPool.getSize() + "/" + ballPool.getCapacity() + " parked"
+        );
+
+        // Timings of the last few seconds of game ticks, if PROFILE_SYSTEMS is on.
+        var profiler = component.getProfiler();
+        if (profiler.isEnabled()) {
+            System.out.println("System timings (mean / p99 / max, microseconds):");
+            for (var system : profiler.getSystems()) {
+                var timings = profiler.getSystemTimings(system);
+                System.out.println(
+                    "  " + system.getClass().getSimpleName() + ": "
+                        + String.format("%.1f", timings.getMean() / 1_000.0) + " / "
+                        + String.format("%.1f", timings.getPercentile(0.99) / 1_000.0) + " / "
+                        + String.format("%.1f", timings.getMax() / 1_000.0)
+                );
+            }
+        }
+    }
+}
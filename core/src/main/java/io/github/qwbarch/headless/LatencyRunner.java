@@ -0,0 +1,135 @@
+package io.github.qwbarch.headless;
+
+import com.artemis.Aspect;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.math.RandomXS128;
+import io.github.qwbarch.LevelResolver;
+import io.github.qwbarch.entity.component.PlayerHealth;
+import io.github.qwbarch.entity.component.Target;
+import io.github.qwbarch.entity.strategy.LatencyHistogram;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Measures input latency without a window, by running the game in real time at the given frame rate,
+ * while a synthetic player moves the paddle left and right at random times.
+ * <p/>
+ * Key events arrive at any point in-between frames (like they do with a real keyboard), and each frame processes
+ * the world the same way the game does without the simulation thread. Nothing is actually drawn,
+ * so a frame counts as drawn as soon as the world is done processing.
+ * The latencies are printed at the end, and optionally exported as a csv file of histogram buckets.
+ * <p/>
+ * Usage: {@code LatencyRunner [LEVEL_1 | LEVEL_2 | BONUS_LEVEL] [frames per second] [seconds] [csv file]}
+ */
+public final class LatencyRunner {
+    private static final LevelResolver.Level DEFAULT_LEVEL = LevelResolver.Level.LEVEL_1;
+    private static final int DEFAULT_FRAMES_PER_SECOND = 30;
+    private static final int DEFAULT_SECONDS = 10;
+
+    /**
+     * The synthetic player switches direction every 125-375 milliseconds.
+     */
+    private static final long MIN_PRESS_INTERVAL_NANOS = 125_000_000L;
+    private static final long MAX_PRESS_INTERVAL_NANOS = 375_000_000L;
+
+    private LatencyRunner() {}
+
+    public static void main(String[] args) throws IOException {
+        var level = args.length > 0 ? LevelResolver.Level.valueOf(args[0]) : DEFAULT_LEVEL;
+        var framesPerSecond = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_FRAMES_PER_SECOND;
+        var seconds = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_SECONDS;
+        var csvFile = args.length > 3 ? args[3] : null;
+
+        var component = HeadlessRunner.createComponent();
+        var world = component.getWorld();
+        var inputMultiplexer = component.getInputMultiplexer();
+        var latency = component.getInputLatency();
+        var subscriptions = world.getAspectSubscriptionManager();
+        var playerHealths = subscriptions.get(Aspect.all(PlayerHealth.class)).getEntities();
+        var targets = subscriptions.get(Aspect.all(Target.class)).getEntities();
+
+        HeadlessRunner.startLevel(component, level);
+
+        // Follow the system clock from now on, like the game does.
+        component.getStrategy().setManualStepping(false);
+        component.getProfiler().setEnabled(true);
+
+        // Separate from the game's random number generator, so the player doesn't change what the game does.
+        var random = new RandomXS128(HeadlessRunner.DEFAULT_SEED);
+        var nanosPerFrame = 1_000_000_000L / framesPerSecond;
+        var startTime = System.nanoTime();
+        var endTime = startTime + seconds * 1_000_000_000L;
+        var nextPress = startTime;
+        var heldKey = Input.Keys.LEFT;
+        var presses = 0;
+        var frames = 0;
+        var frameEnd = startTime;
+        while (frameEnd < endTime && !playerHealths.isEmpty() && !targets.isEmpty()) {
+            frameEnd += nanosPerFrame;
+
+            // Press keys until the frame is over, like a player would while the previous frame is on screen.
+            for (var now = System.nanoTime(); now < frameEnd; now = System.nanoTime()) {
+                if (now >= nextPress) {
+                    inputMultiplexer.keyUp(heldKey);
+                    heldKey = heldKey == Input.Keys.LEFT ? Input.Keys.RIGHT : Input.Keys.LEFT;
+                    inputMultiplexer.keyDown(heldKey);
+                    presses++;
+                    nextPress = now + MIN_PRESS_INTERVAL_NANOS
+                        + (long) (random.nextFloat() * (MAX_PRESS_INTERVAL_NANOS - MIN_PRESS_INTERVAL_NANOS));
+                }
+                LockSupport.parkNanos(Math.min(nextPress, frameEnd) - now);
+            }
+
+            world.process();
+            latency.frameDrawn();
+            frames++;
+        }
+        var elapsedSeconds = (System.nanoTime() - startTime) / 1_000_000_000.0;
+
+        System.out.println("Level: " + level);
+        System.out.println("Frames: " + frames + " at " + framesPerSecond + " frames per second");
+        System.out.println("Elapsed time: " + String.format("%.3f", elapsedSeconds) + "s");
+        System.out.println("Key presses: " + presses);
+        System.out.println("Input latency (count / mean / p50 / p99 / max, milliseconds):");
+        printLatency("Queued", latency.getQueued());
+        printLatency("Ticked", latency.getTicked());
+        printLatency("Drawn", latency.getDrawn());
+
+        if (csvFile != null) {
+            try (var writer = new PrintWriter(new FileWriter(csvFile))) {
+                writer.println("stage,lower_bound_ns,upper_bound_ns,count");
+                writeBuckets(writer, "queued", latency.getQueued());
+                writeBuckets(writer, "ticked", latency.getTicked());
+                writeBuckets(writer, "drawn", latency.getDrawn());
+            }
+            System.out.println("Histograms written to " + csvFile);
+        }
+    }
+
+    private static void printLatency(String stage, LatencyHistogram histogram) {
+        System.out.println(
+            "  " + stage + ": " + histogram.getCount() + " / "
+                + String.format("%.2f", histogram.getMean() / 1_000_000.0) + " / "
+                + String.format("%.2f", histogram.getPercentile(0.5) / 1_000_000.0) + " / "
+                + String.format("%.2f", histogram.getPercentile(0.99) / 1_000_000.0) + " / "
+                + String.format("%.2f", histogram.getMax() / 1_000_000.0)
+        );
+    }
+
+    /**
+     * Write one row per bucket that has any samples. The last bucket has no upper bound.
+     */
+    private static void writeBuckets(PrintWriter writer, String stage, LatencyHistogram histogram) {
+        for (var i = 0; i < LatencyHistogram.BUCKETS; i++) {
+            var count = histogram.getBucketCount(i);
+            if (count == 0L) continue;
+            var upperBound = i == LatencyHistogram.BUCKETS - 1
+                ? "inf"
+                : String.valueOf(LatencyHistogram.getUpperBound(i));
+            writer.println(stage + "," + LatencyHistogram.getLowerBound(i) + "," + upperBound + "," + count);
+        }
+    }
+}
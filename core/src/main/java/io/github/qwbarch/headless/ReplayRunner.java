@@ -0,0 +1,50 @@
+package io.github.qwbarch.headless;
+
+import io.github.qwbarch.replay.InputLog;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+
+/**
+ * Plays back a recorded level without a window, as fast as the CPU allows,
+ * and reports whether it played out the same as it was recorded.
+ * <p/>
+ * Usage: {@code ReplayRunner <replay file>}
+ */
+public final class ReplayRunner {
+    private ReplayRunner() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: ReplayRunner <replay file>");
+            return;
+        }
+
+        InputLog log;
+        try (var stream = new FileInputStream(args[0])) {
+            log = InputLog.read(stream);
+        }
+
+        // The seed doesn't matter, since the replay restores the random number generator's state.
+        var component = HeadlessRunner.createComponent();
+        var world = component.getWorld();
+        var player = component.getReplayPlayer();
+        component.getStrategy().setManualStepping(true);
+        player.start(log);
+        HeadlessRunner.getLayout(component, log.level).spawn();
+
+        var startTime = System.nanoTime();
+        while (!player.isFinished()) {
+            world.process();
+        }
+        var elapsedSeconds = (System.nanoTime() - startTime) / 1_000_000_000.0;
+        player.stop();
+
+        System.out.println("Level: " + log.level);
+        System.out.println("Ticks replayed: " + log.ticks);
+        System.out.println("Input events: " + log.events.size / 3);
+        System.out.println("Elapsed time: " + String.format("%.3f", elapsedSeconds) + "s");
+        if (player.getDivergedTick() < 0) System.out.println("Outcome: matched the recording");
+        else System.out.println("Outcome: diverged at game tick " + player.getDivergedTick());
+    }
+}
@@ -0,0 +1,125 @@
+package io.github.qwbarch.level;
+
+import io.github.qwbarch.entity.EntitySpawner;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+/**
+ * The bricks of the bonus level. A spiral of tanky bricks, which spawns a TON of balls.
+ * This is a singleton, so one instance is used for the entire game.
+ */
+@Singleton
+public final class BonusLevelLayout extends LevelLayout {
+    // Dependencies injected via dagger.
+    private final float brickSize;
+
+    // Package-private constructor since dagger injects the dependencies.
+    @Inject
+    BonusLevelLayout(
+        EntitySpawner spawner,
+        @Named("worldWidth") float worldWidth,
+        @Named("worldHeight") float worldHeight,
+        @Named("worldBorderSize") float worldBorderSize,
+        @Named("brickSize") float brickSize
+    ) {
+        super(spawner, worldWidth, worldHeight, worldBorderSize);
+        this.brickSize = brickSize;
+    }
+
+    @Override
+    protected void spawnBricks() {
+        // Make the bricks tanky since I want lots of balls to spawn.
+        var brickHealth = 700;
+
+        // Bottom grey strip. This is a bonus "for-fun" round to see lots of particles so
+        // this is for the player to not lose any balls.
+        for (var i = 0; i < 30; i++) {
+            spawner.spawnBrick(i * brickSize, 0);
+        }
+
+        // Bottom green strip. Tankier since it receives way more hits.
+        for (var i = 0; i < 27; i++) {
+            spawner.spawnBrick(26f * brickSize - i * brickSize, 4 * brickSize, brickHealth * 2);
+        }
+
+        for (var i = 0; i < 21; i++) {
+            spawner.spawnBrick(29f * brickSize, 4f * brickSize + i * brickSize, brickHealth);
+        }
+
+        for (var i = 0; i < 19; i++) {
+            spawner.spawnBrick(27f * brickSize, 4f * brickSize + i * brickSize, brickHealth);
+        }
+
+        for (var i = 0; i < 29; i++) {
+            spawner.spawnBrick(28f * brickSize - i * brickSize, 24 * brickSize, brickHealth);
+        }
+
+        for (var i = 1; i < 27; i++) {
+            spawner.spawnBrick(i * brickSize, 22 * brickSize, brickHealth);
+        }
+
+        for (var i = 0; i < 16; i++) {
+            spawner.spawnBrick(brickSize, 21 * brickSize - i * brickSize, brickHealth);
+        }
+
+        for (var i = 0; i < 24; i++) {
+            spawner.spawnBrick(2 * brickSize + i * brickSize, 6 * brickSize, brickHealth);
+        }
+
+        for (var i = 0; i < 14; i++) {
+            spawner.spawnBrick(25 * brickSize, 7 * brickSize + i * brickSize, brickHealth);
+        }
+
+        for (var i = 0; i < 22; i++) {
+            spawner.spawnBrick(24 * brickSize - i * brickSize, 20 * brickSize, brickHealth);
+        }
+
+        for (var i = 0; i < 12; i++) {
+            spawner.spawnBrick(3 * brickSize, 19 * brickSize - i * brickSize, brickHealth);
+        }
+
+        for (var i = 0; i < 20; i++) {
+            spawner.spawnBrick(4 * brickSize + i * brickSize, 8 * brickSize, brickHealth);
+        }
+
+        for (var i = 0; i < 10; i++) {
+            spawner.spawnBrick(23 * brickSize, 9 * brickSize + i * brickSize, brickHealth);
+        }
+
+        for (var i = 0; i < 18; i++) {
+            spawner.spawnBrick(22 * brickSize - i * brickSize, 18 * brickSize, brickHealth);
+        }
+
+        for (var i = 0; i < 8; i++) {
+            spawner.spawnBrick(5 * brickSize, 17 * brickSize - i * brickSize, brickHealth);
+        }
+
+        for (var i = 0; i < 16; i++) {
+            spawner.spawnBrick(6 * brickSize + i * brickSize, 10 * brickSize, brickHealth);
+        }
+
+        for (var i = 0; i < 6; i++) {
+            spawner.spawnBrick(21 * brickSize, 11 * brickSize + i * brickSize, brickHealth);
+        }
+
+        for (var i = 0; i < 14; i++) {
+            spawner.spawnBrick(20 * brickSize - i * brickSize, 16 * brickSize, brickHealth);
+        }
+
+        for (var i = 0; i < 4; i++) {
+            spawner.spawnBrick(7 * brickSize, 15 * brickSize - i * brickSize, brickHealth);
+        }
+
+        for (var i = 0; i < 12; i++) {
+            spawner.spawnBrick(8 * brickSize + i * brickSize, 12 * brickSize, brickHealth);
+        }
+
+        spawner.spawnBrick(19 * brickSize, 13 * brickSize, brickHealth);
+
+        for (var i = 0; i < 11; i++) {
+            spawner.spawnBrick(19 * brickSize - i * brickSize, 14 * brickSize, brickHealth);
+        }
+    }
+}
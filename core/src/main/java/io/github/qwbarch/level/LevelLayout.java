@@ -0,0 +1,103 @@
+package io.github.qwbarch.level;
+
+import io.github.qwbarch.entity.EntitySpawner;
+import io.github.qwbarch.entity.snapshot.LevelSnapshot;
+
+/**
+ * The entities a level starts out with.
+ * This is kept separate from the level screens, so that a level can be loaded without a window
+ * (for example, when running the simulation headless).
+ */
+public abstract class LevelLayout {
+    // Dependencies injected via dagger.
+    protected final EntitySpawner spawner;
+    protected final float worldWidth;
+    protected final float worldHeight;
+    protected final float worldBorderSize;
+
+    /**
+     * The level's borders and bricks, captured every time the level is spawned.
+     */
+    private final LevelSnapshot snapshot = new LevelSnapshot();
+
+    /**
+     * Necessary dependencies that will need to be injected via dagger from the subclass.
+     */
+    protected LevelLayout(EntitySpawner spawner, float worldWidth, float worldHeight, float worldBorderSize) {
+        this.spawner = spawner;
+        this.worldWidth = worldWidth;
+        this.worldHeight = worldHeight;
+        this.worldBorderSize = worldBorderSize;
+    }
+
+    /**
+     * Spawn every entity of the level.
+     * The borders and bricks are captured into a snapshot, so that retrying the level can keep them around.
+     */
+    public void spawn() {
+        snapshot.clear();
+        spawner.startCapture(snapshot);
+        spawnBorders();
+        spawnBricks();
+        spawner.stopCapture();
+
+        spawnPlayer();
+    }
+
+    /**
+     * Retry the level, once every entity other than the borders and bricks (see {@link #isKept(int)}) is deleted.
+     * Instead of spawning hundreds of bricks again, the existing ones are reset to how they were spawned,
+     * so only the paddle and starting ball are new.
+     */
+    public void respawn() {
+        if (snapshot.isEmpty()) throw new RuntimeException("Level has not been spawned yet.");
+        spawner.restore(snapshot);
+        spawnPlayer();
+    }
+
+    /**
+     * Whether or not the entity is one of the level's borders or bricks, which are kept alive when retrying the level.
+     */
+    public boolean isKept(int entityId) {
+        return snapshot.contains(entityId);
+    }
+
+    private void spawnPlayer() {
+        // Spawn the player's paddle.
+        spawner.spawnPaddle();
+
+        // Spawn the starting ball, which is "attached" to the paddle.
+        spawner.spawnStartingBall();
+    }
+
+    /**
+     * Create 3 invisible borders surrounding the world, at the left, right, and top side.
+     * These will prevent collider entities from moving past them.
+     * A border is not present at the bottom since we want the balls to fall down.
+     */
+    private void spawnBorders() {
+        spawner.spawnInvisibleBorder(
+            -worldBorderSize,
+            worldHeight,
+            worldWidth + worldBorderSize * 2,
+            worldBorderSize
+        );
+        spawner.spawnInvisibleBorder(
+            -worldBorderSize,
+            0,
+            worldBorderSize,
+            worldHeight
+        );
+        spawner.spawnInvisibleBorder(
+            worldWidth,
+            0,
+            worldBorderSize,
+            worldHeight
+        );
+    }
+
+    /**
+     * Spawn the level's bricks.
+     */
+    protected abstract void spawnBricks();
+}
@@ -0,0 +1,128 @@
+package io.github.qwbarch.replay;
+
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.LongArray;
+import io.github.qwbarch.LevelResolver;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Everything needed to play a level back exactly as it was played: the level, the state of the random number
+ * generator when it started, and every input event along with the game tick it was handed to the entities in.
+ * Checksums of the world are stored every so often, so a replay can tell when it stopped matching the recording.
+ * <p/>
+ * Game ticks are counted from the start of the recording, so the first game tick is 1.
+ * <p/>
+ * The binary format is kept compact, since a recording is written for every level played:
+ * game ticks are stored as the difference from the previous one, and both ticks and keys are variable-length.
+ */
+public final class InputLog {
+    private static final int MAGIC = 0x42524B52; // "BRKR"
+    private static final int VERSION = 1;
+
+    public LevelResolver.Level level;
+
+    /**
+     * The random number generator's state when the recording started (see RandomXS128#getState).
+     */
+    public long randomState0;
+    public long randomState1;
+
+    /**
+     * The number of game ticks recorded.
+     */
+    public int ticks;
+
+    /**
+     * Input events stored as (game tick, type, key) triplets, in the order they were handed to the entities.
+     */
+    public final IntArray events = new IntArray();
+
+    /**
+     * The game ticks the checksums were taken at the start of, and the checksums themselves.
+     */
+    public final IntArray checksumTicks = new IntArray();
+    public final LongArray checksums = new LongArray();
+
+    public void write(OutputStream stream) throws IOException {
+        var output = new DataOutputStream(stream);
+        output.writeInt(MAGIC);
+        output.writeByte(VERSION);
+        output.writeByte(level.ordinal());
+        output.writeLong(randomState0);
+        output.writeLong(randomState1);
+        writeVarInt(output, ticks);
+
+        writeVarInt(output, events.size / 3);
+        var previousTick = 0;
+        for (var i = 0; i < events.size; i += 3) {
+            writeVarInt(output, events.get(i) - previousTick);
+            output.writeByte(events.get(i + 1));
+            writeVarInt(output, events.get(i + 2));
+            previousTick = events.get(i);
+        }
+
+        writeVarInt(output, checksums.size);
+        previousTick = 0;
+        for (var i = 0; i < checksums.size; i++) {
+            writeVarInt(output, checksumTicks.get(i) - previousTick);
+            output.writeLong(checksums.get(i));
+            previousTick = checksumTicks.get(i);
+        }
+        output.flush();
+    }
+
+    public static InputLog read(InputStream stream) throws IOException {
+        var input = new DataInputStream(stream);
+        if (input.readInt() != MAGIC) throw new IOException("Not an input log.");
+        var version = input.readUnsignedByte();
+        if (version != VERSION) throw new IOException("Unsupported input log version: " + version);
+
+        var log = new InputLog();
+        log.level = LevelResolver.Level.values()[input.readUnsignedByte()];
+        log.randomState0 = input.readLong();
+        log.randomState1 = input.readLong();
+        log.ticks = readVarInt(input);
+
+        var eventCount = readVarInt(input);
+        var tick = 0;
+        for (var i = 0; i < eventCount; i++) {
+            tick += readVarInt(input);
+            log.events.add(tick, input.readUnsignedByte(), readVarInt(input));
+        }
+
+        var checksumCount = readVarInt(input);
+        tick = 0;
+        for (var i = 0; i < checksumCount; i++) {
+            tick += readVarInt(input);
+            log.checksumTicks.add(tick);
+            log.checksums.add(input.readLong());
+        }
+        return log;
+    }
+
+    /**
+     * Write a non-negative int using 7 bits per byte, so small values (most of them) take a single byte.
+     */
+    private static void writeVarInt(DataOutputStream output, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            output.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream input) throws IOException {
+        var value = 0;
+        for (var shift = 0; shift < 32; shift += 7) {
+            var b = input.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Malformed input log.");
+    }
+}
@@ -0,0 +1,108 @@
+package io.github.qwbarch.replay;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.IntArray;
+import io.github.qwbarch.LevelResolver;
+import io.github.qwbarch.entity.physics.PhysicsStore;
+import io.github.qwbarch.entity.strategy.FixedTimestepInvocationStrategy;
+import io.github.qwbarch.entity.system.InputSystem;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+/**
+ * Records every input event handed to the entities, along with the game tick it was handed over in,
+ * so the level can be played back exactly as it was played (see {@link ReplayPlayer}).
+ * This is a singleton, so one instance is used for the entire game.
+ */
+@Singleton
+public final class InputRecorder implements InputSystem.InputHook {
+    /**
+     * How often a checksum of the world is recorded, in game ticks (once a second).
+     */
+    public static final int CHECKSUM_INTERVAL_TICKS = 60;
+
+    // Dependencies injected via dagger.
+    private final InputSystem inputSystem;
+    private final FixedTimestepInvocationStrategy strategy;
+    private final RandomXS128 random;
+    private final PhysicsStore store;
+    private final boolean enabled;
+
+    /**
+     * The log being recorded, or null if nothing is being recorded.
+     */
+    private InputLog log;
+
+    /**
+     * The game tick the recording started after.
+     */
+    private int startTick;
+
+    // Package-private constructor since dagger injects the dependencies.
+    @Inject
+    InputRecorder(
+        InputSystem inputSystem,
+        FixedTimestepInvocationStrategy strategy,
+        RandomXS128 random,
+        PhysicsStore store,
+        @Named("recordReplays") boolean enabled
+    ) {
+        this.inputSystem = inputSystem;
+        this.strategy = strategy;
+        this.random = random;
+        this.store = store;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Whether or not the levels played should be recorded.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isRecording() {
+        return log != null;
+    }
+
+    /**
+     * Start recording. This needs to be called right before the level is spawned.
+     * Must not be called while the world is being processed.
+     */
+    public void start(LevelResolver.Level level) {
+        log = new InputLog();
+        log.level = level;
+        log.randomState0 = random.getState(0);
+        log.randomState1 = random.getState(1);
+        startTick = strategy.getTick();
+        inputSystem.setHook(this);
+    }
+
+    /**
+     * Stop recording. Must not be called while the world is being processed.
+     * @return The recorded log, or null if nothing was being recorded.
+     */
+    public InputLog stop() {
+        var recorded = log;
+        if (recorded != null) {
+            recorded.ticks = strategy.getTick() - startTick;
+            inputSystem.setHook(null);
+            log = null;
+        }
+        return recorded;
+    }
+
+    @Override
+    public void process(IntArray events) {
+        var tick = strategy.getTick() - startTick;
+        if (tick % CHECKSUM_INTERVAL_TICKS == 0) {
+            log.checksumTicks.add(tick);
+            log.checksums.add(WorldChecksum.compute(store));
+        }
+        for (var i = 0; i < events.size; i += 2) {
+            log.events.add(tick, events.get(i), events.get(i + 1));
+        }
+    }
+}
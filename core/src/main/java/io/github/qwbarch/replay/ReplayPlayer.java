@@ -0,0 +1,152 @@
+package io.github.qwbarch.replay;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.IntArray;
+import io.github.qwbarch.LevelResolver;
+import io.github.qwbarch.entity.physics.PhysicsStore;
+import io.github.qwbarch.entity.strategy.FixedTimestepInvocationStrategy;
+import io.github.qwbarch.entity.system.InputSystem;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Plays back a recorded {@link InputLog}. The recorded input events are handed to the entities in the same game
+ * ticks as they were recorded in, through the same input processors, in place of the player's input.
+ * Combined with the random number generator being restored, the level plays out exactly as it was recorded.
+ * <p/>
+ * This works with or without a window, at any time scale, since only game ticks are counted.
+ * <p/>
+ * This is a singleton, so one instance is used for the entire game.
+ */
+@Singleton
+public final class ReplayPlayer implements InputSystem.InputHook {
+    // Dependencies injected via dagger.
+    private final InputSystem inputSystem;
+    private final FixedTimestepInvocationStrategy strategy;
+    private final RandomXS128 random;
+    private final PhysicsStore store;
+
+    /**
+     * A log waiting for its level to be shown, for playing a replay in the game itself.
+     */
+    private InputLog pending;
+
+    /**
+     * The log being played back, or null if nothing is being played back.
+     */
+    private InputLog log;
+
+    private int startTick;
+    private int nextEvent;
+    private int nextChecksum;
+
+    /**
+     * The first game tick that didn't match the recording, or -1 if everything matched so far.
+     * Written on the thread processing the world.
+     */
+    private volatile int divergedTick = -1;
+
+    // Package-private constructor since dagger injects the dependencies.
+    @Inject
+    ReplayPlayer(
+        InputSystem inputSystem,
+        FixedTimestepInvocationStrategy strategy,
+        RandomXS128 random,
+        PhysicsStore store
+    ) {
+        this.inputSystem = inputSystem;
+        this.strategy = strategy;
+        this.random = random;
+        this.store = store;
+    }
+
+    /**
+     * Queue up a log to be played back the next time its level is shown.
+     */
+    public void setPending(InputLog log) {
+        pending = log;
+    }
+
+    /**
+     * The level of the log waiting to be played back, or null if there isn't one.
+     */
+    public LevelResolver.Level getPendingLevel() {
+        return pending == null ? null : pending.level;
+    }
+
+    /**
+     * Take the pending log if it's for the given level, clearing it.
+     * @return The pending log, or null if there isn't one for the level.
+     */
+    public InputLog takePending(LevelResolver.Level level) {
+        if (pending == null || pending.level != level) return null;
+        var log = pending;
+        pending = null;
+        return log;
+    }
+
+    public boolean isPlaying() {
+        return log != null;
+    }
+
+    /**
+     * Whether or not every recorded game tick has been played back.
+     */
+    public boolean isFinished() {
+        return log != null && strategy.getTick() - startTick >= log.ticks;
+    }
+
+    /**
+     * The first game tick (counted from the start of the replay) that didn't match the recording,
+     * or -1 if everything matched so far.
+     */
+    public int getDivergedTick() {
+        return divergedTick;
+    }
+
+    /**
+     * Start playing back the log. This needs to be called right before the log's level is spawned.
+     * Must not be called while the world is being processed.
+     */
+    public void start(InputLog log) {
+        this.log = log;
+        startTick = strategy.getTick();
+        nextEvent = 0;
+        nextChecksum = 0;
+        divergedTick = -1;
+        random.setState(log.randomState0, log.randomState1);
+        inputSystem.setHook(this);
+    }
+
+    /**
+     * Stop playing back the log. Must not be called while the world is being processed.
+     */
+    public void stop() {
+        if (log != null) {
+            inputSystem.setHook(null);
+            log = null;
+        }
+    }
+
+    @Override
+    public void process(IntArray events) {
+        var tick = strategy.getTick() - startTick;
+
+        // Compare the world against the recording, before this game tick changes it.
+        if (nextChecksum < log.checksums.size && log.checksumTicks.get(nextChecksum) == tick) {
+            if (divergedTick < 0 && log.checksums.get(nextChecksum) != WorldChecksum.compute(store)) {
+                divergedTick = tick;
+            }
+            nextChecksum++;
+        }
+
+        // The player's own input is ignored while replaying.
+        events.clear();
+        var recorded = log.events;
+        while (nextEvent < recorded.size && recorded.get(nextEvent) == tick) {
+            events.add(recorded.get(nextEvent + 1), recorded.get(nextEvent + 2));
+            nextEvent += 3;
+        }
+    }
+}
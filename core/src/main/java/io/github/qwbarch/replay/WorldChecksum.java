@@ -0,0 +1,36 @@
+package io.github.qwbarch.replay;
+
+import io.github.qwbarch.entity.physics.PhysicsStore;
+
+/**
+ * Hashes the position and velocity of every entity, for noticing when a replay stops matching its recording.
+ */
+final class WorldChecksum {
+    private WorldChecksum() {}
+
+    /**
+     * The entities are hashed separately and then added together, so the checksum doesn't depend on which
+     * slots or entity ids the entities ended up with (which can differ if the level wasn't the first one played).
+     * The simulation doesn't depend on them either, since entities are moved in spawn order instead of by id.
+     */
+    static long compute(PhysicsStore store) {
+        var checksum = (long) store.size();
+        for (var slot = 0; slot < store.size(); slot++) {
+            var hash = mix(Float.floatToIntBits(store.x[slot]));
+            hash = mix(hash ^ Float.floatToIntBits(store.y[slot]));
+            hash = mix(hash ^ Float.floatToIntBits(store.velocityX[slot]));
+            hash = mix(hash ^ Float.floatToIntBits(store.velocityY[slot]));
+            checksum += hash;
+        }
+        return checksum;
+    }
+
+    /**
+     * The finalizer of SplitMix64, which spreads every input bit over the whole output.
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+}
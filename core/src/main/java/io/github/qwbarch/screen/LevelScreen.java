@@ -3,6 +3,7 @@ package io.github.qwbarch.screen;
 import com.artemis.Aspect;
 import com.artemis.World;
 import com.badlogic.gdx.*;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.*;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
@@ -13,26 +14,62 @@ import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
 import com.badlogic.gdx.scenes.scene2d.ui.VerticalGroup;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
+import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.ScreenViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import dagger.Lazy;
+import io.github.qwbarch.Clock;
+import io.github.qwbarch.LevelResolver;
 import io.github.qwbarch.MenuButton;
 import io.github.qwbarch.asset.AssetMap;
-import io.github.qwbarch.entity.EntitySpawner;
+import io.github.qwbarch.entity.strategy.SampleWindow;
+import io.github.qwbarch.entity.strategy.SimulationThread;
+import io.github.qwbarch.entity.strategy.InputLatency;
+import io.github.qwbarch.entity.strategy.LatencyHistogram;
+import io.github.qwbarch.entity.strategy.SystemProfiler;
+import io.github.qwbarch.entity.system.GameOverSystem;
+import io.github.qwbarch.entity.system.InputSystem;
+import io.github.qwbarch.level.LevelLayout;
+import io.github.qwbarch.replay.InputRecorder;
+import io.github.qwbarch.replay.ReplayPlayer;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
 
 /**
  * The basis of any level screen.
  */
 public abstract class LevelScreen implements Screen {
+    /**
+     * Where recordings of the levels played are saved to.
+     */
+    private static final String REPLAY_DIRECTORY = "replays/";
+
+    /**
+     * The most recordings kept in the replay directory. Once there are more, the oldest ones are deleted.
+     */
+    private static final int MAX_REPLAYS = 20;
+
     // Dependencies injected via dagger.
     private final ScreenHandler screenHandler;
     private final Lazy<MenuScreen> menuScreen;
+    private final Lazy<WinScreen> winScreen;
+    private final Lazy<LoseScreen> loseScreen;
     private final InputMultiplexer inputMultiplexer;
     private final String startLabel;
+    private final LevelResolver.Level level;
     private final World world;
+    private final SimulationThread simulation;
+    private final SystemProfiler profiler;
+    private final InputLatency latency;
+    private final Clock clock;
+    private final InputRecorder recorder;
+    private final ReplayPlayer replayPlayer;
+    private final GameOverSystem gameOverSystem;
     private final SpriteBatch batch;
-    private final EntitySpawner spawner;
+    private final LevelLayout layout;
     private final float worldWidth;
     private final float worldHeight;
     private final Texture background;
@@ -49,6 +86,11 @@ public abstract class LevelScreen implements Screen {
     private BitmapFont headerFont;
     private float startLabelWidth;
 
+    /**
+     * Reused for the profiler overlay's text, so drawing it every frame doesn't allocate strings.
+     */
+    private final com.badlogic.gdx.utils.StringBuilder profilerText = new com.badlogic.gdx.utils.StringBuilder(1024);
+
     /**
      * The timestamp of when the level screen is first shown.
      * This is for showing the initial message upon entering the level.
@@ -70,9 +112,17 @@ public abstract class LevelScreen implements Screen {
      */
     protected LevelScreen(
         String startLabel,
+        LevelResolver.Level level,
         World world,
+        SimulationThread simulation,
+        SystemProfiler profiler,
+        InputLatency latency,
+        Clock clock,
+        InputRecorder recorder,
+        ReplayPlayer replayPlayer,
+        GameOverSystem gameOverSystem,
         SpriteBatch batch,
-        EntitySpawner spawner,
+        LevelLayout layout,
         float worldWidth,
         float worldHeight,
         Color worldBackground,
@@ -80,15 +130,27 @@ public abstract class LevelScreen implements Screen {
         GlyphLayout glyphLayout,
         InputMultiplexer inputMultiplexer,
         ScreenHandler screenHandler,
-        Lazy<MenuScreen> menuScreen
+        Lazy<MenuScreen> menuScreen,
+        Lazy<WinScreen> winScreen,
+        Lazy<LoseScreen> loseScreen
     ) {
         this.screenHandler = screenHandler;
         this.menuScreen = menuScreen;
+        this.winScreen = winScreen;
+        this.loseScreen = loseScreen;
         this.inputMultiplexer = inputMultiplexer;
         this.startLabel = startLabel;
+        this.level = level;
         this.world = world;
+        this.simulation = simulation;
+        this.profiler = profiler;
+        this.latency = latency;
+        this.clock = clock;
+        this.recorder = recorder;
+        this.replayPlayer = replayPlayer;
+        this.gameOverSystem = gameOverSystem;
         this.batch = batch;
-        this.spawner = spawner;
+        this.layout = layout;
         this.worldWidth = worldWidth;
         this.worldHeight = worldHeight;
         this.assets = assets;
@@ -107,13 +169,17 @@ public abstract class LevelScreen implements Screen {
     }
 
     /**
-     * Creates an input processor that reacts to the escape key being pressed.
+     * Creates an input processor that reacts to the escape key being pressed,
+     * and to F3 for toggling the profiler overlay.
      */
     private InputProcessor createPauseListener() {
         return new InputAdapter() {
             @Override
             public boolean keyDown(int keycode) {
-                if (keycode == Input.Keys.ESCAPE) {
+                if (keycode == Input.Keys.F3) {
+                    profiler.setEnabled(!profiler.isEnabled());
+                }
+                else if (keycode == Input.Keys.ESCAPE) {
                     // Don't allow the game to be paused in the start-of-level message overlay.
                     if (firstRun) return false;
 
@@ -168,8 +234,7 @@ public abstract class LevelScreen implements Screen {
         retryButton.addListener(new ClickListener() {
             @Override
             public void clicked(InputEvent event, float x, float y) {
-                hide();
-                show();
+                retry();
             }
         });
 
@@ -209,42 +274,46 @@ public abstract class LevelScreen implements Screen {
 
     @Override
     public void show() {
+        showLevel(false);
+    }
+
+    @Override
+    public void hide() {
+        hideLevel(false);
+    }
+
+    /**
+     * Restart the level. This is the same as hiding and showing the screen again, except the level's borders
+     * and bricks are kept around and reset in place (see {@link LevelLayout#respawn()}).
+     */
+    private void retry() {
+        hideLevel(true);
+        showLevel(true);
+    }
+
+    /**
+     * @param retry Whether or not the level's borders and bricks were kept around by {@link #hideLevel(boolean)}.
+     */
+    private void showLevel(boolean retry) {
         isPaused = false;
         currentViewport = uiViewport;
-        startTime = System.nanoTime();
+        startTime = clock.nanoTime();
         headerFont = assets.getHeaderFont();
 
         glyphLayout.setText(headerFont, startLabel);
         startLabelWidth = glyphLayout.width;
 
-        // Create 3 invisible borders surrounding the world, at the left, right, and top side.
-        // These will prevent collider entities from moving past them.
-        // A border is not present at the bottom since we want the balls to fall down.
-        var borderSize = 100f;
-        spawner.spawnInvisibleBorder(
-            -borderSize,
-            worldHeight,
-            worldWidth + borderSize * 2,
-            borderSize
-        );
-        spawner.spawnInvisibleBorder(
-            -borderSize,
-            0,
-            borderSize,
-            worldHeight
-        );
-        spawner.spawnInvisibleBorder(
-            worldWidth,
-            0,
-            borderSize,
-            worldHeight
-        );
+        // Play back the replay waiting for this level, or otherwise record the level being played.
+        var replay = replayPlayer.takePending(level);
+        if (replay != null) replayPlayer.start(replay);
+        else if (recorder.isEnabled()) recorder.start(level);
 
-        // Spawn the player's paddle.
-        spawner.spawnPaddle();
+        // Keys pressed before the level started (on the menus) aren't handed to the new paddle and ball.
+        world.getSystem(InputSystem.class).clear();
 
-        // Spawn the starting ball, which is "attached" to the paddle.
-        spawner.spawnStartingBall();
+        // Spawn the level's borders, paddle, starting ball and bricks.
+        if (retry) layout.respawn();
+        else layout.spawn();
 
         // Center the camera.
         currentViewport.update(Gdx.graphics.getWidth(), Gdx.graphics.getHeight(), true);
@@ -253,10 +322,24 @@ public abstract class LevelScreen implements Screen {
         inputMultiplexer.addProcessor(pauseListener);
     }
 
-    @Override
-    public void hide() {
+    /**
+     * @param retry Whether or not to keep the level's borders and bricks around, for retrying the level.
+     */
+    private void hideLevel(boolean retry) {
         inputMultiplexer.removeProcessor(pauseListener);
-        clearWorld();
+
+        // The world can't be touched while it's being processed on the simulation thread.
+        simulation.stop();
+        if (replayPlayer.isPlaying() && replayPlayer.getDivergedTick() >= 0) {
+            Gdx.app.log(
+                "ReplayPlayer",
+                "Replay diverged from the recording at game tick " + replayPlayer.getDivergedTick() + "."
+            );
+        }
+        replayPlayer.stop();
+        saveRecording();
+        clearWorld(retry);
+        gameOverSystem.reset();
         isPaused = false;
     }
 
@@ -276,7 +359,7 @@ public abstract class LevelScreen implements Screen {
         var screenHeight = Gdx.graphics.getHeight();
 
         // Render start of round overlay.
-        var currentTime = System.nanoTime();
+        var currentTime = clock.nanoTime();
         if (firstRun && currentTime - startTime < 3_000_000_000L) {
             currentViewport.apply();
             batch.setProjectionMatrix(currentViewport.getCamera().combined);
@@ -291,6 +374,7 @@ public abstract class LevelScreen implements Screen {
         } else {
             // display the pause menu if the game is paused.
             if (isPaused) {
+                simulation.stop();
                 pauseStage.act(Gdx.graphics.getDeltaTime());
                 pauseStage.draw();
             }
@@ -308,21 +392,135 @@ public abstract class LevelScreen implements Screen {
 
                 batch.draw(background, 0, 0, worldWidth, worldHeight);
 
-                // Process all entities.
-                world.process();
+                if (simulation.isEnabled()) {
+                    // The world is processed on the simulation thread, only draw its latest snapshot.
+                    simulation.start();
+                    simulation.render();
+                } else {
+                    // Process all entities.
+                    world.process();
+                }
 
                 batch.end();
+
+                if (profiler.isEnabled()) renderProfiler();
+
+                // Switch screens once the world is done processing, if the level ended.
+                // Switching screens clears the world, so this has to come last.
+                var outcome = gameOverSystem.takeOutcome();
+                if (outcome == GameOverSystem.Outcome.WON) screenHandler.setScreen(winScreen.get());
+                else if (outcome == GameOverSystem.Outcome.LOST) screenHandler.setScreen(loseScreen.get());
             }
         }
     }
 
+    /**
+     * Draw how long each system takes in the top-left corner of the screen, in microseconds.
+     */
+    private void renderProfiler() {
+        profilerText.setLength(0);
+        var systems = profiler.getSystems();
+        for (var i = 0; i < systems.size; i++) {
+            var system = systems.get(i);
+            profilerText.append(system.getClass().getSimpleName());
+            appendTimings(profiler.getSystemTimings(system));
+            profilerText.append('\n');
+        }
+        var ticksPerFrame = profiler.getTicksPerFrame();
+        profilerText
+            .append("Ticks per frame  last ")
+            .append(ticksPerFrame.getLast())
+            .append("  max ")
+            .append(ticksPerFrame.getMax())
+            .append('\n')
+            .append("Accumulator backlog");
+        appendTimings(profiler.getAccumulatorBacklog());
+        profilerText.append("\nInput latency queued");
+        appendLatency(latency.getQueued());
+        profilerText.append("\nInput latency ticked");
+        appendLatency(latency.getTicked());
+        profilerText.append("\nInput latency drawn");
+        appendLatency(latency.getDrawn());
+
+        // The overlay is drawn in screen coordinates, and then the game's viewport is restored for the next frame.
+        uiViewport.update(Gdx.graphics.getWidth(), Gdx.graphics.getHeight(), true);
+        uiViewport.apply();
+        batch.setProjectionMatrix(uiViewport.getCamera().combined);
+        batch.begin();
+        assets.getBodyFont().draw(batch, profilerText, 10f, Gdx.graphics.getHeight() - 10f);
+        batch.end();
+        gameViewport.apply();
+    }
+
+    private void appendLatency(LatencyHistogram histogram) {
+        profilerText
+            .append("  mean ")
+            .append((long) histogram.getMean() / 1_000L)
+            .append("us  p99 ")
+            .append(histogram.getPercentile(0.99) / 1_000L)
+            .append("us  max ")
+            .append(histogram.getMax() / 1_000L)
+            .append("us");
+    }
+
+    private void appendTimings(SampleWindow timings) {
+        profilerText
+            .append("  last ")
+            .append(timings.getLast() / 1_000L)
+            .append("us  mean ")
+            .append((long) timings.getMean() / 1_000L)
+            .append("us  p99 ")
+            .append(timings.getPercentile(0.99) / 1_000L)
+            .append("us  max ")
+            .append(timings.getMax() / 1_000L)
+            .append("us");
+    }
+
+    @Override
+    public boolean isGameplay() {
+        return !firstRun && !isPaused;
+    }
+
+    /**
+     * Save the recording of the level to the replay directory, if it was being recorded.
+     * A recording is only nice to have, so if it can't be saved (read-only directory, full disk, etc),
+     * I just log it and carry on instead of crashing the game.
+     */
+    private void saveRecording() {
+        var log = recorder.stop();
+        if (log == null || log.ticks == 0) return;
+
+        var fileHandle = Gdx.files.local(REPLAY_DIRECTORY + level + "-" + System.currentTimeMillis() + ".replay");
+        try (var stream = fileHandle.write(false)) {
+            log.write(stream);
+            deleteOldRecordings();
+        } catch (IOException | GdxRuntimeException exception) {
+            Gdx.app.error("InputRecorder", "Failed to save the recording to " + fileHandle.path() + ".", exception);
+        }
+    }
+
+    /**
+     * Delete the oldest recordings, until at most MAX_REPLAYS are left.
+     */
+    private void deleteOldRecordings() {
+        var recordings = Gdx.files.local(REPLAY_DIRECTORY).list(".replay");
+        if (recordings.length <= MAX_REPLAYS) return;
+
+        Arrays.sort(recordings, Comparator.comparingLong(FileHandle::lastModified));
+        for (var i = 0; i < recordings.length - MAX_REPLAYS; i++) {
+            recordings[i].delete();
+        }
+    }
+
     /**
      * Clears all entities from the world.
+     * @param keepLayout Whether or not to keep the level's borders and bricks.
      */
-    private void clearWorld() {
+    private void clearWorld(boolean keepLayout) {
         var entities = world.getAspectSubscriptionManager().get(Aspect.all()).getEntities();
         for (var i = 0; i < entities.size(); i++) {
-            world.delete(entities.get(i));
+            var entityId = entities.get(i);
+            if (!keepLayout || !layout.isKept(entityId)) world.delete(entityId);
         }
     }
 }
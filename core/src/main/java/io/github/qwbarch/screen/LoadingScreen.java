@@ -6,6 +6,7 @@ import com.holidaystudios.tools.GifDecoder;
 import dagger.Lazy;
 import io.github.qwbarch.LevelResolver;
 import io.github.qwbarch.asset.AssetMap;
+import io.github.qwbarch.replay.ReplayPlayer;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -17,6 +18,7 @@ import java.util.Objects;
 public final class LoadingScreen implements Screen {
     // Dependencies injected via dagger.
     private final Lazy<LevelResolver> levelResolver;
+    private final ReplayPlayer replayPlayer;
     private final SpriteBatch batch;
     private final ScreenHandler screenHandler;
     private final Screen menuScreen;
@@ -49,6 +51,7 @@ public final class LoadingScreen implements Screen {
     @Inject
     LoadingScreen(
         Lazy<LevelResolver> levelResolver,
+        ReplayPlayer replayPlayer,
         ScreenHandler screenHandler,
         GlyphLayout glyphLayout,
         MenuScreen menuScreen,
@@ -59,6 +62,7 @@ public final class LoadingScreen implements Screen {
         @Named("logo") String logo
     ) {
         this.levelResolver = levelResolver;
+        this.replayPlayer = replayPlayer;
         this.batch = batch;
         this.screenHandler = screenHandler;
         this.menuScreen = menuScreen;
@@ -142,8 +146,14 @@ public final class LoadingScreen implements Screen {
                 var resolver = Objects.requireNonNull(levelResolver.get());
                 resolver.loadSave();
 
-                // Switch to the menu screen.
-                screenHandler.setScreen(menuScreen);
+                // Switch to the level of the recording being played back, or otherwise the menu screen.
+                var replayLevel = replayPlayer.getPendingLevel();
+                if (replayLevel != null) {
+                    resolver.currentlyPlaying = replayLevel;
+                    screenHandler.setScreen(resolver.getCurrentlyPlayingLevelScreen());
+                } else {
+                    screenHandler.setScreen(menuScreen);
+                }
             }
         }
     }
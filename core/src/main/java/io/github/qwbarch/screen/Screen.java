@@ -37,4 +37,12 @@ public interface Screen {
      * @param height The height of the resized window.
      */
     default void resize(int width, int height) {}
+
+    /**
+     * Whether or not the game is currently being played on this screen.
+     * This decides which frame cap is used, since menus don't need to be rendered nearly as often.
+     */
+    default boolean isGameplay() {
+        return false;
+    }
 }
@@ -6,12 +6,21 @@ import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import dagger.Lazy;
+import io.github.qwbarch.Clock;
 import io.github.qwbarch.LevelResolver;
 import io.github.qwbarch.asset.AssetMap;
-import io.github.qwbarch.entity.EntitySpawner;
+import io.github.qwbarch.entity.strategy.SimulationThread;
+import io.github.qwbarch.entity.strategy.InputLatency;
+import io.github.qwbarch.entity.strategy.SystemProfiler;
+import io.github.qwbarch.entity.system.GameOverSystem;
+import io.github.qwbarch.level.BonusLevelLayout;
+import io.github.qwbarch.replay.InputRecorder;
+import io.github.qwbarch.replay.ReplayPlayer;
 import io.github.qwbarch.screen.LevelScreen;
+import io.github.qwbarch.screen.LoseScreen;
 import io.github.qwbarch.screen.MenuScreen;
 import io.github.qwbarch.screen.ScreenHandler;
+import io.github.qwbarch.screen.WinScreen;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -31,32 +40,46 @@ public class BonusLevelScreen extends LevelScreen {
     private static final String START_LABEL = "Bonus level\n\nThat's a lot of balls.";
 
     // Dependencies injected via dagger.
-    private final float brickSize;
-    private final EntitySpawner spawner;
     private final Lazy<LevelResolver> levelResolver;
 
     // Package-private constructor since dagger injects the dependencies.
     @Inject
     protected BonusLevelScreen(
         World world,
+        SimulationThread simulation,
+        SystemProfiler profiler,
+        InputLatency latency,
+        Clock clock,
+        InputRecorder recorder,
+        ReplayPlayer replayPlayer,
+        GameOverSystem gameOverSystem,
         SpriteBatch batch,
-        EntitySpawner spawner,
+        BonusLevelLayout layout,
         @Named("worldWidth") float worldWidth,
         @Named("worldHeight") float worldHeight,
-        @Named("brickSize") float brickSize,
         @Named("worldBackground") Color worldBackground,
         AssetMap assets,
         GlyphLayout glyphLayout,
         InputMultiplexer inputMultiplexer,
         ScreenHandler screenHandler,
         Lazy<MenuScreen> menuScreen,
+        Lazy<WinScreen> winScreen,
+        Lazy<LoseScreen> loseScreen,
         Lazy<LevelResolver> levelResolver
     ) {
         super(
             START_LABEL,
+            LevelResolver.Level.BONUS_LEVEL,
             world,
+            simulation,
+            profiler,
+            latency,
+            clock,
+            recorder,
+            replayPlayer,
+            gameOverSystem,
             batch,
-            spawner,
+            layout,
             worldWidth,
             worldHeight,
             worldBackground,
@@ -64,111 +87,16 @@ public class BonusLevelScreen extends LevelScreen {
             glyphLayout,
             inputMultiplexer,
             screenHandler,
-            menuScreen
+            menuScreen,
+            winScreen,
+            loseScreen
         );
-        this.brickSize = brickSize;
-        this.spawner = spawner;
         this.levelResolver = levelResolver;
     }
 
     @Override
     public void show() {
         super.show();
-
-        // Spawn all the bricks.
-
         Objects.requireNonNull(levelResolver.get()).currentlyPlaying = LevelResolver.Level.BONUS_LEVEL;
-
-        // Make the bricks tanky since I want lots of balls to spawn.
-        var brickHealth = 700;
-
-        // Bottom grey strip. This is a bonus "for-fun" round to see lots of particles so
-        // this is for the player to not lose any balls.
-        for (var i = 0; i < 30; i++) {
-            spawner.spawnBrick(i * brickSize, 0);
-        }
-
-        // Bottom green strip. Tankier since it receives way more hits.
-        for (var i = 0; i < 27; i++) {
-            spawner.spawnBrick(26f * brickSize - i * brickSize, 4 * brickSize, brickHealth * 2);
-        }
-
-        for (var i = 0; i < 21; i++) {
-            spawner.spawnBrick(29f * brickSize, 4f * brickSize + i * brickSize, brickHealth);
-        }
-
-        for (var i = 0; i < 19; i++) {
-            spawner.spawnBrick(27f * brickSize, 4f * brickSize + i * brickSize, brickHealth);
-        }
-
-        for (var i = 0; i < 29; i++) {
-            spawner.spawnBrick(28f * brickSize - i * brickSize, 24 * brickSize, brickHealth);
-        }
-
-        for (var i = 1; i < 27; i++) {
-            spawner.spawnBrick(i * brickSize, 22 * brickSize, brickHealth);
-        }
-
-        for (var i = 0; i < 16; i++) {
-            spawner.spawnBrick(brickSize, 21 * brickSize - i * brickSize, brickHealth);
-        }
-
-        for (var i = 0; i < 24; i++) {
-            spawner.spawnBrick(2 * brickSize + i * brickSize, 6 * brickSize, brickHealth);
-        }
-
-        for (var i = 0; i < 14; i++) {
-            spawner.spawnBrick(25 * brickSize, 7 * brickSize + i * brickSize, brickHealth);
-        }
-
-        for (var i = 0; i < 22; i++) {
-            spawner.spawnBrick(24 * brickSize - i * brickSize, 20 * brickSize, brickHealth);
-        }
-
-        for (var i = 0; i < 12; i++) {
-            spawner.spawnBrick(3 * brickSize, 19 * brickSize - i * brickSize, brickHealth);
-        }
-
-        for (var i = 0; i < 20; i++) {
-            spawner.spawnBrick(4 * brickSize + i * brickSize, 8 * brickSize, brickHealth);
-        }
-
-        for (var i = 0; i < 10; i++) {
-            spawner.spawnBrick(23 * brickSize, 9 * brickSize + i * brickSize, brickHealth);
-        }
-
-        for (var i = 0; i < 18; i++) {
-            spawner.spawnBrick(22 * brickSize - i * brickSize, 18 * brickSize, brickHealth);
-        }
-
-        for (var i = 0; i < 8; i++) {
-            spawner.spawnBrick(5 * brickSize, 17 * brickSize - i * brickSize, brickHealth);
-        }
-
-        for (var i = 0; i < 16; i++) {
-            spawner.spawnBrick(6 * brickSize + i * brickSize, 10 * brickSize, brickHealth);
-        }
-
-        for (var i = 0; i < 6; i++) {
-            spawner.spawnBrick(21 * brickSize, 11 * brickSize + i * brickSize, brickHealth);
-        }
-
-        for (var i = 0; i < 14; i++) {
-            spawner.spawnBrick(20 * brickSize - i * brickSize, 16 * brickSize, brickHealth);
-        }
-
-        for (var i = 0; i < 4; i++) {
-            spawner.spawnBrick(7 * brickSize, 15 * brickSize - i * brickSize, brickHealth);
-        }
-
-        for (var i = 0; i < 12; i++) {
-            spawner.spawnBrick(8 * brickSize + i * brickSize, 12 * brickSize, brickHealth);
-        }
-
-        spawner.spawnBrick(19 * brickSize, 13 * brickSize, brickHealth);
-
-        for (var i = 0; i < 11; i++) {
-            spawner.spawnBrick(19 * brickSize - i * brickSize, 14 * brickSize, brickHealth);
-        }
     }
 }
@@ -5,15 +5,22 @@ import com.badlogic.gdx.InputMultiplexer;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.utils.ObjectSet;
 import dagger.Lazy;
+import io.github.qwbarch.Clock;
 import io.github.qwbarch.LevelResolver;
 import io.github.qwbarch.asset.AssetMap;
-import io.github.qwbarch.entity.EntitySpawner;
+import io.github.qwbarch.entity.strategy.SimulationThread;
+import io.github.qwbarch.entity.strategy.InputLatency;
+import io.github.qwbarch.entity.strategy.SystemProfiler;
+import io.github.qwbarch.entity.system.GameOverSystem;
+import io.github.qwbarch.level.Level1Layout;
+import io.github.qwbarch.replay.InputRecorder;
+import io.github.qwbarch.replay.ReplayPlayer;
 import io.github.qwbarch.screen.LevelScreen;
+import io.github.qwbarch.screen.LoseScreen;
 import io.github.qwbarch.screen.MenuScreen;
 import io.github.qwbarch.screen.ScreenHandler;
+import io.github.qwbarch.screen.WinScreen;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -29,32 +36,46 @@ public final class Level1Screen extends LevelScreen {
     private static final String START_LABEL = "Level 1\n\nYou don't know what\nyou're getting into.";
 
     // Dependencies injected via dagger.
-    private final EntitySpawner spawner;
-    private final float brickSize;
-    private final float worldHeight;
     private final Lazy<LevelResolver> levelResolver;
 
     // Package-private constructor since dagger injects the dependencies.
     @Inject
     Level1Screen(
         World world,
+        SimulationThread simulation,
+        SystemProfiler profiler,
+        InputLatency latency,
+        Clock clock,
+        InputRecorder recorder,
+        ReplayPlayer replayPlayer,
+        GameOverSystem gameOverSystem,
         SpriteBatch batch,
-        EntitySpawner spawner,
+        Level1Layout layout,
         @Named("worldWidth") float worldWidth,
         @Named("worldHeight") float worldHeight,
-        @Named("brickSize") float brickSize,
         @Named("worldBackground") Color worldBackground,
         AssetMap assets,
         GlyphLayout glyphLayout,
         InputMultiplexer inputMultiplexer,
         ScreenHandler screenHandler,
         Lazy<MenuScreen> menuScreen,
+        Lazy<WinScreen> winScreen,
+        Lazy<LoseScreen> loseScreen,
         Lazy<LevelResolver> levelResolver
     ) {
         super(
             START_LABEL,
-            world, batch,
-            spawner,
+            LevelResolver.Level.LEVEL_1,
+            world,
+            simulation,
+            profiler,
+            latency,
+            clock,
+            recorder,
+            replayPlayer,
+            gameOverSystem,
+            batch,
+            layout,
             worldWidth,
             worldHeight,
             worldBackground,
@@ -62,194 +83,16 @@ public final class Level1Screen extends LevelScreen {
             glyphLayout,
             inputMultiplexer,
             screenHandler,
-            menuScreen
+            menuScreen,
+            winScreen,
+            loseScreen
         );
-        this.brickSize = brickSize;
-        this.spawner = spawner;
-        this.worldHeight = worldHeight;
         this.levelResolver = levelResolver;
     }
 
     @Override
     public void show() {
         super.show();
-
-        // Spawn all the bricks.
-
         Objects.requireNonNull(levelResolver.get()).currentlyPlaying = LevelResolver.Level.LEVEL_1;
-
-        var greenBricks = new ObjectSet<Vector2>();
-        // Letter "H"
-        greenBricks.addAll(
-            new Vector2(5, 1),
-            new Vector2(5, 2),
-            new Vector2(5, 3),
-            new Vector2(5, 4),
-            new Vector2(5, 5),
-            new Vector2(6, 3),
-            new Vector2(7, 1),
-            new Vector2(7, 2),
-            new Vector2(7, 3),
-            new Vector2(7, 4),
-            new Vector2(7, 5),
-
-            // Letter "E"
-            new Vector2(9, 1),
-            new Vector2(10, 1),
-            new Vector2(11, 1),
-            new Vector2(9, 2),
-            new Vector2(9, 3),
-            new Vector2(9, 4),
-            new Vector2(9, 5),
-            new Vector2(10, 3),
-            new Vector2(11, 3),
-            new Vector2(10, 5),
-            new Vector2(11, 5),
-
-            // Letter "L"
-            new Vector2(13, 1),
-            new Vector2(13, 2),
-            new Vector2(13, 3),
-            new Vector2(13, 4),
-            new Vector2(13, 5),
-            new Vector2(14, 5),
-            new Vector2(15, 5),
-
-            // Letter "L"
-            new Vector2(17, 1),
-            new Vector2(17, 2),
-            new Vector2(17, 3),
-            new Vector2(17, 4),
-            new Vector2(17, 5),
-            new Vector2(18, 5),
-            new Vector2(19, 5),
-
-            // Letter "O"
-            new Vector2(21, 1),
-            new Vector2(21, 2),
-            new Vector2(21, 3),
-            new Vector2(21, 4),
-            new Vector2(21, 5),
-            new Vector2(24, 1),
-            new Vector2(24, 2),
-            new Vector2(24, 3),
-            new Vector2(24, 4),
-            new Vector2(24, 5),
-            new Vector2(22, 1),
-            new Vector2(23, 1),
-            new Vector2(22, 5),
-            new Vector2(23, 5),
-
-            // Letter "W"
-            new Vector2(3, 7),
-            new Vector2(3, 8),
-            new Vector2(3, 9),
-            new Vector2(3, 10),
-            new Vector2(4, 10),
-            new Vector2(5, 10),
-            new Vector2(6, 10),
-            new Vector2(7, 10),
-            new Vector2(5, 9),
-            new Vector2(5, 8),
-            new Vector2(7, 9),
-            new Vector2(7, 8),
-            new Vector2(7, 7),
-
-            // Letter "O"
-            new Vector2(9, 7),
-            new Vector2(9, 8),
-            new Vector2(9, 9),
-            new Vector2(9, 10),
-            new Vector2(10, 7),
-            new Vector2(11, 7),
-            new Vector2(10, 10),
-            new Vector2(11, 10),
-            new Vector2(12, 7),
-            new Vector2(12, 8),
-            new Vector2(12, 9),
-            new Vector2(12, 10),
-
-            // Letter "O"
-            new Vector2(14, 7),
-            new Vector2(14, 8),
-            new Vector2(14, 9),
-            new Vector2(14, 10),
-            new Vector2(15, 8),
-            new Vector2(16, 7),
-            new Vector2(17, 7),
-
-            // Letter "L"
-            new Vector2(19, 7),
-            new Vector2(19, 8),
-            new Vector2(19, 9),
-            new Vector2(19, 10),
-            new Vector2(20, 10),
-            new Vector2(21, 10),
-
-            // Letter "L"
-            new Vector2(23, 7),
-            new Vector2(23, 8),
-            new Vector2(23, 9),
-            new Vector2(23, 10),
-            new Vector2(24, 7),
-            new Vector2(24, 10),
-            new Vector2(25, 9),
-            new Vector2(25, 8),
-
-            // Symbol "!"
-            new Vector2(27, 1),
-            new Vector2(27, 2),
-            new Vector2(27, 3),
-            new Vector2(28, 1),
-            new Vector2(28, 2),
-            new Vector2(28, 3),
-            new Vector2(27, 4),
-            new Vector2(27, 5),
-            new Vector2(27, 6),
-            new Vector2(27, 7),
-            new Vector2(27, 9),
-            new Vector2(27, 10),
-            new Vector2(28, 4),
-            new Vector2(28, 5),
-            new Vector2(28, 6),
-            new Vector2(28, 7),
-            new Vector2(28, 9),
-            new Vector2(28, 10));
-
-        var currentBrick = new Vector2();
-        for (var i = 0; i < 30; i++) {
-            for (var j = 0; j < 12; j++) {
-                currentBrick.set(i, j);
-                var startHitpoints =
-                    greenBricks.contains(currentBrick)
-                        ? 3
-                        : 1;
-                spawner.spawnBrick(
-                    i * brickSize,
-                    worldHeight - (j + 1) * brickSize,
-                    startHitpoints
-                );
-            }
-        }
-
-        // Left side of grey bricks.
-        for (var i = 0; i < 12; i++) {
-            if (i < 2 || i > 3) {
-                spawner.spawnBrick(brickSize, i * brickSize);
-            }
-        }
-
-        // Right side of grey bricks.
-        for (var i = 0; i < 12; i++) {
-            if (i < 2 || i > 3) {
-                spawner.spawnBrick(brickSize * 28, i * brickSize);
-            }
-        }
-
-        // Bottom side of grey bricks.
-        for (var i = 1; i < 28; i++) {
-            if (i >= 4 && i <= 6 || i >= 22 && i <= 25) continue;
-            spawner.spawnBrick(i * brickSize, 0);
-        }
     }
 }
@@ -6,12 +6,21 @@ import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import dagger.Lazy;
+import io.github.qwbarch.Clock;
 import io.github.qwbarch.LevelResolver;
 import io.github.qwbarch.asset.AssetMap;
-import io.github.qwbarch.entity.EntitySpawner;
+import io.github.qwbarch.entity.strategy.SimulationThread;
+import io.github.qwbarch.entity.strategy.InputLatency;
+import io.github.qwbarch.entity.strategy.SystemProfiler;
+import io.github.qwbarch.entity.system.GameOverSystem;
+import io.github.qwbarch.level.Level2Layout;
+import io.github.qwbarch.replay.InputRecorder;
+import io.github.qwbarch.replay.ReplayPlayer;
 import io.github.qwbarch.screen.LevelScreen;
+import io.github.qwbarch.screen.LoseScreen;
 import io.github.qwbarch.screen.MenuScreen;
 import io.github.qwbarch.screen.ScreenHandler;
+import io.github.qwbarch.screen.WinScreen;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -27,16 +36,21 @@ public class Level2Screen extends LevelScreen {
     private static final String START_LABEL = "Level 2.\n\nDon't even bother trying.";
 
     // Dependencies injected via dagger.
-    private final EntitySpawner spawner;
-    private final float brickSize;
     private final Lazy<LevelResolver> levelResolver;
 
     // Package-private constructor since dagger injects the dependencies.
     @Inject
     Level2Screen(
         World world,
+        SimulationThread simulation,
+        SystemProfiler profiler,
+        InputLatency latency,
+        Clock clock,
+        InputRecorder recorder,
+        ReplayPlayer replayPlayer,
+        GameOverSystem gameOverSystem,
         SpriteBatch batch,
-        EntitySpawner spawner,
+        Level2Layout layout,
         @Named("worldWidth") float worldWidth,
         @Named("worldHeight") float worldHeight,
         @Named("worldBackground") Color worldBackground,
@@ -45,14 +59,23 @@ public class Level2Screen extends LevelScreen {
         InputMultiplexer inputMultiplexer,
         ScreenHandler screenHandler,
         Lazy<MenuScreen> menuScreen,
-        @Named("brickSize") float brickSize,
+        Lazy<WinScreen> winScreen,
+        Lazy<LoseScreen> loseScreen,
         Lazy<LevelResolver> levelResolver
     ) {
         super(
             START_LABEL,
+            LevelResolver.Level.LEVEL_2,
             world,
+            simulation,
+            profiler,
+            latency,
+            clock,
+            recorder,
+            replayPlayer,
+            gameOverSystem,
             batch,
-            spawner,
+            layout,
             worldWidth,
             worldHeight,
             worldBackground,
@@ -60,111 +83,16 @@ public class Level2Screen extends LevelScreen {
             glyphLayout,
             inputMultiplexer,
             screenHandler,
-            menuScreen
+            menuScreen,
+            winScreen,
+            loseScreen
         );
-        this.spawner = spawner;
-        this.brickSize = brickSize;
         this.levelResolver = levelResolver;
     }
 
     @Override
     public void show() {
         super.show();
-
-        // Spawn all the bricks.
-
         Objects.requireNonNull(levelResolver.get()).currentlyPlaying = LevelResolver.Level.LEVEL_2;
-
-        // Left grey bricks.
-        for (var i = 4; i < 19; i++) {
-            spawner.spawnBrick(brickSize * 3, i * brickSize);
-        }
-        spawner.spawnBrick(brickSize * 4, 18 * brickSize);
-        spawner.spawnBrick(brickSize * 4, 19 * brickSize);
-        spawner.spawnBrick(brickSize * 5, 19 * brickSize);
-        spawner.spawnBrick(brickSize * 5, 20 * brickSize);
-        spawner.spawnBrick(brickSize * 6, 20 * brickSize);
-        spawner.spawnBrick(brickSize * 6, 21 * brickSize);
-        spawner.spawnBrick(brickSize * 7, 21 * brickSize);
-        spawner.spawnBrick(brickSize * 8, 21 * brickSize);
-        spawner.spawnBrick(brickSize * 9, 21 * brickSize);
-        spawner.spawnBrick(brickSize * 10, 21 * brickSize);
-        spawner.spawnBrick(brickSize * 2, brickSize * 12);
-        spawner.spawnBrick(brickSize, brickSize * 12);
-        spawner.spawnBrick(0, brickSize * 12);
-
-        // Right grey bricks.
-        for (var i = 4; i < 19; i++) {
-            spawner.spawnBrick(brickSize * 26, i * brickSize);
-        }
-        spawner.spawnBrick(brickSize * 25, 18 * brickSize);
-        spawner.spawnBrick(brickSize * 25, 19 * brickSize);
-        spawner.spawnBrick(brickSize * 24, 19 * brickSize);
-        spawner.spawnBrick(brickSize * 24, 20 * brickSize);
-        spawner.spawnBrick(brickSize * 23, 20 * brickSize);
-        spawner.spawnBrick(brickSize * 23, 21 * brickSize);
-        spawner.spawnBrick(brickSize * 22, 21 * brickSize);
-        spawner.spawnBrick(brickSize * 21, 21 * brickSize);
-        spawner.spawnBrick(brickSize * 20, 21 * brickSize);
-        spawner.spawnBrick(brickSize * 19, 21 * brickSize);
-        spawner.spawnBrick(brickSize * 27, brickSize * 12);
-        spawner.spawnBrick(brickSize * 28, brickSize * 12);
-        spawner.spawnBrick(brickSize * 29, brickSize * 12);
-
-        // Left green bricks.
-        for (var i = 13; i < 25; i++) {
-            for (var j = 0; j < 3; j++) {
-                spawner.spawnBrick(j * brickSize, i * brickSize, 3);
-            }
-        }
-
-        // Right green bricks.
-        for (var i = 13; i < 25; i++) {
-            for (var j = 27; j < 30; j++) {
-                spawner.spawnBrick(j * brickSize, i * brickSize, 3);
-            }
-        }
-
-        // Top left yellow corner.
-        spawner.spawnBrick(3 * brickSize, 20 * brickSize, 2);
-        spawner.spawnBrick(3 * brickSize, 21 * brickSize, 2);
-        spawner.spawnBrick(3 * brickSize, 19 * brickSize, 2);
-        spawner.spawnBrick(4 * brickSize, 21 * brickSize, 2);
-        spawner.spawnBrick(5 * brickSize, 21 * brickSize, 2);
-        spawner.spawnBrick(4 * brickSize, 20 * brickSize, 2);
-
-        // Top green strip.
-        for (var i = 3; i < 27; i++) {
-            for (var j = 0; j < 3; j++) {
-                spawner.spawnBrick(i * brickSize, 24 * brickSize - j * brickSize, 10);
-            }
-        }
-
-        // Top right yellow corner.
-        spawner.spawnBrick(26 * brickSize, 20 * brickSize, 2);
-        spawner.spawnBrick(26 * brickSize, 21 * brickSize, 2);
-        spawner.spawnBrick(26 * brickSize, 19 * brickSize, 2);
-        spawner.spawnBrick(25 * brickSize, 21 * brickSize, 2);
-        spawner.spawnBrick(24 * brickSize, 21 * brickSize, 2);
-        spawner.spawnBrick(25 * brickSize, 20 * brickSize, 2);
-
-        // Top red strip.
-        for (var i = 0; i < 8; i++) {
-            spawner.spawnBrick(18 * brickSize - i * brickSize, 21 * brickSize, 1);
-        }
-
-        // Bottom-left red.
-        for (var i = 0; i < 8; i++) {
-            for (var j = 0; j < 3; j++) {
-                spawner.spawnBrick(j * brickSize, 4 * brickSize + i * brickSize, 1);
-            }
-        }
-
-        // Bottom-right red.
-        for (var i = 0; i < 8; i++) {
-            for (var j = 27; j < 30; j++) {
-                spawner.spawnBrick(j * brickSize, 4 * brickSize + i * brickSize, 1);
-            }
-        }
     }
 }
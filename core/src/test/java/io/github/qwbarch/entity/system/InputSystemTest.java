@@ -0,0 +1,41 @@
+package io.github.qwbarch.entity.system;
+
+import com.artemis.Aspect;
+import com.badlogic.gdx.Input;
+import io.github.qwbarch.LevelResolver;
+import io.github.qwbarch.entity.component.InputListener;
+import io.github.qwbarch.entity.component.LinearVelocity;
+import io.github.qwbarch.headless.HeadlessRunner;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Hands key events to the entities headless, the same way the game does.
+ */
+public class InputSystemTest {
+    /**
+     * Launching the starting ball stops it from listening for input, while the keys after it in the same
+     * game tick are still being handed out.
+     */
+    @Test
+    public void keyAfterLaunchInSameTick() {
+        var component = HeadlessRunner.createComponent();
+        var world = component.getWorld();
+        var inputMultiplexer = component.getInputMultiplexer();
+        var listeners = world.getAspectSubscriptionManager().get(Aspect.all(InputListener.class)).getEntities();
+        component.getStrategy().setManualStepping(true);
+        HeadlessRunner.getLayout(component, LevelResolver.Level.LEVEL_1).spawn();
+        world.process();
+
+        inputMultiplexer.keyDown(Input.Keys.SPACE);
+        inputMultiplexer.keyDown(Input.Keys.LEFT);
+        world.process();
+
+        // Only the paddle is left listening for input, and it got the key pressed after the launch.
+        assertEquals(1, listeners.size(), "The launched ball should no longer listen for input.");
+        var paddleVelocity = world.getMapper(LinearVelocity.class).get(listeners.get(0));
+        assertTrue(paddleVelocity.x < 0f, "The paddle should be moving left.");
+    }
+}
@@ -0,0 +1,52 @@
+package io.github.qwbarch.level;
+
+import com.artemis.Aspect;
+import io.github.qwbarch.LevelResolver;
+import io.github.qwbarch.entity.component.Hitpoints;
+import io.github.qwbarch.entity.component.Target;
+import io.github.qwbarch.headless.HeadlessRunner;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Retries a level the same way the level screen does, and checks it comes back the same as it was spawned.
+ */
+public class LevelLayoutTest {
+    @Test
+    public void retryRestoresDestroyedBricks() {
+        var component = HeadlessRunner.createComponent();
+        var world = component.getWorld();
+        var layout = HeadlessRunner.getLayout(component, LevelResolver.Level.LEVEL_1);
+        var subscriptions = world.getAspectSubscriptionManager();
+        var entities = subscriptions.get(Aspect.all()).getEntities();
+        var targets = subscriptions.get(Aspect.all(Target.class)).getEntities();
+
+        HeadlessRunner.startLevel(component, LevelResolver.Level.LEVEL_1);
+        var spawnedEntities = entities.size();
+        var spawnedTargets = targets.size();
+
+        // Destroy a brick the same way the brick system does once it runs out of hit points.
+        var brickId = targets.get(0);
+        var hitpoints = world.getMapper(Hitpoints.class).get(brickId);
+        hitpoints.value = 0;
+        component.getEntitySpawner().destroyBrick(brickId);
+        world.process();
+        assertEquals(spawnedTargets - 1, targets.size(), "The brick should no longer count towards winning.");
+        assertTrue(layout.isKept(brickId), "The brick should be kept for retrying the level.");
+
+        // Delete everything besides the borders and bricks, and spawn the rest again.
+        for (var i = 0; i < entities.size(); i++) {
+            var entityId = entities.get(i);
+            if (!layout.isKept(entityId)) world.delete(entityId);
+        }
+        world.process();
+        layout.respawn();
+        world.process();
+
+        assertEquals(spawnedTargets, targets.size(), "Every brick should be back.");
+        assertEquals(spawnedEntities, entities.size(), "The level should have as many entities as it was spawned with.");
+        assertEquals(hitpoints.start, hitpoints.value, "The brick should have its hit points back.");
+    }
+}
@@ -0,0 +1,91 @@
+package io.github.qwbarch.replay;
+
+import com.artemis.Aspect;
+import com.artemis.World;
+import com.badlogic.gdx.Input;
+import io.github.qwbarch.LevelResolver;
+import io.github.qwbarch.dagger.HeadlessComponent;
+import io.github.qwbarch.headless.HeadlessRunner;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Records a level headless, and plays it back in a fresh world.
+ */
+public class ReplayTest {
+    /**
+     * Long enough for plenty of dropping balls to be spawned and despawned.
+     */
+    private static final int TICKS = 1800;
+
+    /**
+     * The paddle switches direction this often, in game ticks.
+     */
+    private static final int TICKS_PER_MOVE = 40;
+
+    /**
+     * The level played first leaves deleted entity ids behind, so the recorded level hands out different ids than
+     * the fresh world playing it back. The replay still has to play out the same.
+     */
+    @Test
+    public void replaysSecondLevelPlayed() {
+        var component = HeadlessRunner.createComponent();
+
+        HeadlessRunner.startLevel(component, LevelResolver.Level.LEVEL_1);
+        play(component, TICKS);
+        assertTrue(component.getBallPool().getMisses() > 0, "The first level should have spawned dropping balls.");
+        clearWorld(component.getWorld());
+
+        var recorder = component.getInputRecorder();
+        recorder.start(LevelResolver.Level.BONUS_LEVEL);
+        HeadlessRunner.startLevel(component, LevelResolver.Level.BONUS_LEVEL);
+        play(component, TICKS);
+        var log = recorder.stop();
+        assertTrue(log.checksums.size > 1, "The recording should have checksums to compare against.");
+
+        var replayComponent = HeadlessRunner.createComponent(HeadlessRunner.DEFAULT_SEED + 1);
+        var world = replayComponent.getWorld();
+        var player = replayComponent.getReplayPlayer();
+        replayComponent.getStrategy().setManualStepping(true);
+        player.start(log);
+        HeadlessRunner.getLayout(replayComponent, log.level).spawn();
+        while (!player.isFinished()) {
+            world.process();
+        }
+        player.stop();
+
+        assertEquals(-1, player.getDivergedTick(), "The replay diverged from the recording.");
+    }
+
+    /**
+     * Run the given number of game ticks, moving the paddle left and right.
+     */
+    private static void play(HeadlessComponent component, int ticks) {
+        var world = component.getWorld();
+        var inputMultiplexer = component.getInputMultiplexer();
+        var heldKey = Input.Keys.LEFT;
+        inputMultiplexer.keyDown(heldKey);
+        for (var tick = 1; tick <= ticks; tick++) {
+            if (tick % TICKS_PER_MOVE == 0) {
+                inputMultiplexer.keyUp(heldKey);
+                heldKey = heldKey == Input.Keys.LEFT ? Input.Keys.RIGHT : Input.Keys.LEFT;
+                inputMultiplexer.keyDown(heldKey);
+            }
+            world.process();
+        }
+        inputMultiplexer.keyUp(heldKey);
+    }
+
+    /**
+     * Delete every entity the same way the level screen does when a level ends.
+     * The deletes only go through once the next level is processed.
+     */
+    private static void clearWorld(World world) {
+        var entities = world.getAspectSubscriptionManager().get(Aspect.all()).getEntities();
+        for (var i = 0; i < entities.size(); i++) {
+            world.delete(entities.get(i));
+        }
+    }
+}
@@ -11,13 +11,18 @@ import io.github.qwbarch.Main;
 public class Lwjgl3Launcher {
     public static void main(String[] args) {
         if (StartupHelper.startNewJvmIfRequired()) return; // This handles macOS support and helps on Windows.
-        new Lwjgl3Application(new Main(), getDefaultConfiguration());
+
+        // Optionally play back a recording: Lwjgl3Launcher [replay file] [time scale]
+        var replayPath = args.length > 0 ? args[0] : null;
+        var replayTimeScale = args.length > 1 ? Float.parseFloat(args[1]) : 1f;
+        new Lwjgl3Application(new Main(replayPath, replayTimeScale), getDefaultConfiguration());
     }
 
     private static Lwjgl3ApplicationConfiguration getDefaultConfiguration() {
         Lwjgl3ApplicationConfiguration configuration = new Lwjgl3ApplicationConfiguration();
         configuration.setTitle("Brickbreaker");
         configuration.setFullscreenMode(Lwjgl3ApplicationConfiguration.getDisplayMode());
+        // Frames are limited by the game's FramePacer instead, which has separate caps for menus and gameplay.
         configuration.useVsync(false);
         configuration.setForegroundFPS(0);
         configuration.setWindowIcon("libgdx128.png", "libgdx64.png", "libgdx32.png", "libgdx16.png");